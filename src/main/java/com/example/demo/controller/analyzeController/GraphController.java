@@ -1,25 +1,125 @@
 package com.example.demo.controller.analyzeController;
 
 import com.example.demo.model.graphModel.ArchitectureGraph;
+import com.example.demo.model.graphModel.GraphDiff;
+import com.example.demo.model.graphModel.GraphMetrics;
 import com.example.demo.service.analyzeService.ArchitectureGraphService;
+import com.example.demo.service.analyzeService.graph.CompactGraph;
+import com.example.demo.service.analyzeService.graph.GraphIndex;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/analyze")
 public class GraphController {
 
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
     @Autowired
     private ArchitectureGraphService graphService;
 
+    // Full graph, streamed from its compact form (same JSON as a serialized ArchitectureGraph)
     @GetMapping("/{projectName}/graph")
-    public ResponseEntity<ArchitectureGraph> getProjectGraph(@PathVariable String projectName) {
+    public ResponseEntity<StreamingResponseBody> getProjectGraph(@PathVariable String projectName) {
+        try {
+            CompactGraph graph = graphService.getCompactGraph(projectName);
+            StreamingResponseBody body = out -> {
+                try (JsonGenerator json = JSON_FACTORY.createGenerator(out)) {
+                    graph.writeJson(json);
+                }
+            };
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Nodes/edges added and removed since a graph version (ArchitectureGraph.version)
+    @GetMapping("/{projectName}/graph/diff")
+    public ResponseEntity<GraphDiff> getProjectGraphDiff(@PathVariable String projectName,
+                                                         @RequestParam long since) {
+        try {
+            return ResponseEntity.ok(graphService.getGraphDiff(projectName, since));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Dependency cycles, layer violations (e.g. REPOSITORY -> CONTROLLER) and fan-in/fan-out
+    @GetMapping("/{projectName}/graph/metrics")
+    public ResponseEntity<GraphMetrics> getGraphMetrics(@PathVariable String projectName) {
+        try {
+            return ResponseEntity.ok(graphService.getGraphMetrics(projectName));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // -----------------------------------------------------------------
+    // SUBGRAPH QUERIES (run on the server against the graph's adjacency index)
+    // -----------------------------------------------------------------
+
+    // Classes within N hops of a class; direction OUT = its dependencies, IN = its dependents
+    @GetMapping("/{projectName}/graph/neighborhood")
+    public ResponseEntity<ArchitectureGraph> getNeighborhood(@PathVariable String projectName,
+                                                             @RequestParam String node,
+                                                             @RequestParam(defaultValue = "1") int hops,
+                                                             @RequestParam(defaultValue = "BOTH") GraphIndex.Direction direction,
+                                                             @RequestParam(required = false) List<String> types) {
+        try {
+            GraphIndex index = graphService.getGraphIndex(projectName);
+            if (!index.contains(node)) return ResponseEntity.notFound().build();
+            return ResponseEntity.ok(index.neighborhood(node, Math.max(0, hops), direction, normalizeTypes(types)));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Only the nodes of the given types (e.g. CONTROLLER,SERVICE) and the edges among them; 400 if none given
+    @GetMapping("/{projectName}/graph/filter")
+    public ResponseEntity<ArchitectureGraph> filterByType(@PathVariable String projectName,
+                                                          @RequestParam(required = false) List<String> types) {
+        Set<String> normalized = normalizeTypes(types);
+        if (normalized.isEmpty()) return ResponseEntity.badRequest().build();
         try {
-            ArchitectureGraph graph = graphService.generateGraph(projectName);
-            return ResponseEntity.ok(graph);
+            return ResponseEntity.ok(graphService.getGraphIndex(projectName).filterByType(normalized));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
-}
\ No newline at end of file
+
+    // Shortest path between two classes (nodes in path order); empty graph if none
+    @GetMapping("/{projectName}/graph/path")
+    public ResponseEntity<ArchitectureGraph> getShortestPath(@PathVariable String projectName,
+                                                             @RequestParam String from,
+                                                             @RequestParam String to,
+                                                             @RequestParam(defaultValue = "true") boolean directed) {
+        try {
+            GraphIndex index = graphService.getGraphIndex(projectName);
+            if (!index.contains(from) || !index.contains(to)) return ResponseEntity.notFound().build();
+            return ResponseEntity.ok(index.shortestPath(from, to, directed));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    private Set<String> normalizeTypes(List<String> types) {
+        Set<String> normalized = new HashSet<>();
+        if (types != null) {
+            for (String type : types) {
+                if (type != null && !type.isBlank()) normalized.add(type.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+        return normalized;
+    }
+}
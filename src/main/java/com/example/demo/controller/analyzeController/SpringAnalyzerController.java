@@ -1,9 +1,25 @@
 package com.example.demo.controller.analyzeController;
 
+import com.example.demo.service.ResourceVersionService;
 import com.example.demo.service.analyzeService.SpringAnalyzerService;
+import com.example.demo.model.analyzeModel.AnalysisCacheStats;
+import com.example.demo.model.analyzeModel.ArtifactUsage;
+import com.example.demo.model.analyzeModel.ProfileConfiguration;
+import com.example.demo.service.analyzeService.config.ProjectConfig;
 import com.example.demo.model.analyzeModel.ProjectAnalysisResult;
+import com.example.demo.model.routeModel.RouteConflict;
+import com.example.demo.model.routeModel.RouteInfo;
+import com.example.demo.model.routeModel.RouteMatch;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -12,6 +28,9 @@ public class SpringAnalyzerController {
     @Autowired
     private SpringAnalyzerService analyzerService;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     // Run analysis
     @PostMapping("/{name}/analyze/spring")
     public ProjectAnalysisResult analyzeProject(@PathVariable String name) {
@@ -20,7 +39,66 @@ public class SpringAnalyzerController {
 
     // Get last stored analysis result
     @GetMapping("/{name}/analysis")
-    public ProjectAnalysisResult getAnalysis(@PathVariable String name) {
+    public ProjectAnalysisResult getAnalysis(@PathVariable String name, WebRequest request) {
+        // 304 without reading analyzed/<name>/analysis.json if no new result was saved
+        if (request.checkNotModified(resourceVersionService.etag(ResourceVersionService.analysisKey(name)))) {
+            return null;
+        }
         return analyzerService.getAnalysis(name);
     }
+
+    // Download the stored result as pretty-printed JSON (results are stored in a binary format)
+    @GetMapping("/{name}/analysis/export")
+    public ResponseEntity<byte[]> exportAnalysis(@PathVariable String name) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!analyzerService.exportAnalysisJson(name, out)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "-analysis.json\"")
+                .body(out.toByteArray());
+    }
+
+    // Effective application config for the given profiles (comma-separated; default = spring.profiles.active)
+    @GetMapping("/{name}/config")
+    public ResponseEntity<ProfileConfiguration> getConfiguration(@PathVariable String name,
+                                                                 @RequestParam(required = false) String profiles) throws IOException {
+        ProfileConfiguration config = analyzerService.getConfiguration(name, ProjectConfig.splitProfiles(profiles));
+        return config == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(config);
+    }
+
+    // Which analyzed projects use an artifact, and at which versions (?artifact=groupId:artifactId)
+    @GetMapping("/dependencies/usage")
+    public ResponseEntity<ArtifactUsage> getDependencyUsage(@RequestParam String artifact) {
+        String[] parts = artifact.split(":");
+        if (parts.length != 2 || parts[0].isBlank() || parts[1].isBlank()) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(analyzerService.getDependencyUsage(parts[0].trim(), parts[1].trim()));
+    }
+
+    // Endpoints of all analyzed projects, context path included
+    @GetMapping("/routes")
+    public List<RouteInfo> getRoutes() {
+        return analyzerService.getRoutes();
+    }
+
+    // Which project and controller handle a request (?method=GET&path=/api/users/42; no method = any)
+    @GetMapping("/routes/match")
+    public List<RouteMatch> matchRoute(@RequestParam(required = false) String method, @RequestParam String path) {
+        return analyzerService.matchRoute(method, path);
+    }
+
+    // Duplicate or overlapping routes, within and across projects
+    @GetMapping("/routes/conflicts")
+    public List<RouteConflict> getRouteConflicts() {
+        return analyzerService.getRouteConflicts();
+    }
+
+    // Hit/miss counters of the in-memory analysis result cache
+    @GetMapping("/analysis/cache-stats")
+    public AnalysisCacheStats getCacheStats() {
+        return analyzerService.getCacheStats();
+    }
 }
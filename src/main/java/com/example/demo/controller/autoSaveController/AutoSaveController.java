@@ -1,6 +1,7 @@
 package com.example.demo.controller.autoSaveController;
 
 import com.example.demo.config.AppConfig;
+import com.example.demo.service.analyzeService.scanner.ProjectFileWalker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,6 +23,9 @@ public class AutoSaveController {
     @Autowired
     private AppConfig appConfig;
 
+    @Autowired
+    private ProjectFileWalker fileWalker;
+
     /**
      * Endpoint to get the list of Spring projects by scanning the backend directory.
      */
@@ -61,10 +65,9 @@ public class AutoSaveController {
                     .body("// Error: 'src/main/java' not found in project: " + project);
         }
 
-        try (Stream<Path> javaFiles = Files.walk(srcMainJava)
-                .filter(path -> path.toString().endsWith(".java"))) {
-
-            Optional<String> mainClassContent = javaFiles
+        try {
+            Optional<String> mainClassContent = fileWalker.listFiles(projectDir, srcMainJava, path -> path.toString().endsWith(".java"))
+                    .stream()
                     .map(path -> {
                         try {
                             String content = Files.readString(path);
@@ -209,7 +212,7 @@ public class AutoSaveController {
         }
         fullContext.append("// --- Start of Spring Project: ").append(springProject).append(" ---\n\n");
         try {
-            appendProjectFiles(springProjectDir, springProjectDir, fullContext, ".java", ".xml", ".properties");
+            appendProjectFiles(springProjectDir, fullContext, ".java", ".xml", ".properties");
         } catch (IOException e) {
             System.err.println("Error scanning Spring project: " + e.getMessage());
             return ResponseEntity.status(500).body("// Error scanning Spring project: " + e.getMessage());
@@ -224,7 +227,7 @@ public class AutoSaveController {
         }
         fullContext.append("// --- Start of React Project: ").append(reactProject).append(" ---\n\n");
         try {
-            appendProjectFiles(reactProjectDir, reactProjectDir, fullContext, ".tsx", ".ts", ".jsx", ".js", ".css");
+            appendProjectFiles(reactProjectDir, fullContext, ".tsx", ".ts", ".jsx", ".js", ".css");
         } catch (IOException e) {
             System.err.println("Error scanning React project: " + e.getMessage());
             return ResponseEntity.status(500).body("// Error scanning React project: " + e.getMessage());
@@ -242,54 +245,33 @@ public class AutoSaveController {
     }
 
     /**
-     * Helper to recursively scan a directory and append file content to the context.
+     * Helper to scan a project and append file content to the context.
+     * Ignored directories (.gitignore + the default build/dependency list) are skipped.
      */
-    private void appendProjectFiles(Path projectRoot, Path currentDir, StringBuilder context, String... fileExtensions) throws IOException {
-        try (Stream<Path> stream = Files.list(currentDir)) {
-            stream.forEach(path -> {
-                String fileName = path.getFileName().toString();
-                // Skip common directories
-                if (Files.isDirectory(path)) {
-                    if (fileName.equals("node_modules") || fileName.equals(".git") || fileName.equals("build") || fileName.equals("target") || fileName.equals(".idea") || fileName.equals(".vscode")) {
-                        return; // Skip this directory
-                    }
-                    try {
-                        // Recurse into subdirectory
-                        appendProjectFiles(projectRoot, path, context, fileExtensions);
-                    } catch (IOException e) {
-                        throw new RuntimeException("Failed to scan subdirectory: " + path, e); // Wrap in RuntimeException to use in lambda
-                    }
-                } else {
-                    // Check if it's one of the file types we want
-                    boolean matchesExtension = false;
-                    for (String ext : fileExtensions) {
-                        if (fileName.endsWith(ext)) {
-                            matchesExtension = true;
-                            break;
-                        }
-                    }
+    private void appendProjectFiles(Path projectRoot, StringBuilder context, String... fileExtensions) throws IOException {
+        List<Path> files = fileWalker.listFiles(projectRoot, path -> {
+            // Check if it's one of the file types we want
+            String fileName = path.getFileName().toString();
+            for (String ext : fileExtensions) {
+                if (fileName.endsWith(ext)) {
+                    return true;
+                }
+            }
+            return false;
+        });
 
-                    if (matchesExtension) {
-                        try {
-                            // Use relative path for the file comment
-                            Path relativePath = projectRoot.relativize(path);
-                            String content = Files.readString(path);
+        for (Path path : files) {
+            try {
+                // Use relative path for the file comment
+                Path relativePath = projectRoot.relativize(path);
+                String content = Files.readString(path);
 
-                            context.append("// ").append(relativePath.toString().replace("\\", "/")).append("\n");
-                            context.append(content).append("\n\n");
+                context.append("// ").append(relativePath.toString().replace("\\", "/")).append("\n");
+                context.append(content).append("\n\n");
 
-                        } catch (IOException e) {
-                            // Squelch read errors for individual files (e.g., locked files)
-                            System.err.println("Could not read file, skipping: " + path + " - " + e.getMessage());
-                        }
-                    }
-                }
-            });
-        } catch (Exception e) { // Catch wrapper RuntimeException
-            if (e.getCause() instanceof IOException) {
-                throw (IOException) e.getCause(); // Re-throw original IOException
-            } else {
-                throw new IOException("Failed to list files in directory:  currentDir,"+ e);
+            } catch (IOException e) {
+                // Squelch read errors for individual files (e.g., locked files)
+                System.err.println("Could not read file, skipping: " + path + " - " + e.getMessage());
             }
         }
     }
@@ -0,0 +1,129 @@
+package com.example.demo.controller.jobController;
+
+import com.example.demo.model.jobModel.AnalysisJobStatus;
+import com.example.demo.model.jobModel.BulkAnalysisStatus;
+import com.example.demo.model.projectModel.Project;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.service.jobService.AnalysisJobService;
+import com.example.demo.service.jobService.BulkAnalysisService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Asynchronous variants of the analysis endpoints. Submitting returns 202 with the job
+ * status (and its URL in Location); the work runs in the background.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+public class AnalysisJobController {
+
+    @Autowired
+    private AnalysisJobService jobService;
+
+    @Autowired
+    private BulkAnalysisService bulkAnalysisService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    // Async version of POST /api/projects/{name}/analyze/spring
+    @PostMapping("/spring-analysis/{name}")
+    public ResponseEntity<AnalysisJobStatus> submitSpringAnalysis(@PathVariable String name) {
+        return accepted(jobService.submitSpringAnalysis(name));
+    }
+
+    // Async version of POST /api/analyze/projects/{name}
+    @PostMapping("/project-analysis/{name}")
+    public ResponseEntity<AnalysisJobStatus> submitProjectAnalysis(@PathVariable String name) {
+        Project project = projectRepository.findById(name)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Project not found: " + name));
+        return accepted(jobService.submitProjectAnalysis(project));
+    }
+
+    // Async version of GET /api/analyze/{projectName}/graph; fetch the graph from /{id}/result
+    @PostMapping("/graph/{name}")
+    public ResponseEntity<AnalysisJobStatus> submitGraph(@PathVariable String name) {
+        return accepted(jobService.submitGraph(name));
+    }
+
+    // -----------------------------------------------------------------
+    // BULK (every project under the backend root)
+    // -----------------------------------------------------------------
+    @PostMapping("/bulk/spring-analysis")
+    public ResponseEntity<BulkAnalysisStatus> submitBulkSpringAnalysis() {
+        BulkAnalysisStatus status = bulkAnalysisService.submitBackendAnalysis();
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/bulk/" + status.getId()))
+                .body(status);
+    }
+
+    @GetMapping("/bulk")
+    public List<BulkAnalysisStatus> getBulkRuns() {
+        return bulkAnalysisService.getAll();
+    }
+
+    @GetMapping("/bulk/{id}")
+    public ResponseEntity<BulkAnalysisStatus> getBulkRun(@PathVariable String id) {
+        return bulkAnalysisService.getStatus(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(path = "/bulk/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeBulk(@PathVariable String id) {
+        return bulkAnalysisService.subscribe(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Bulk run not found: " + id));
+    }
+
+    // -----------------------------------------------------------------
+    // SINGLE JOBS
+    // -----------------------------------------------------------------
+    @GetMapping
+    public List<AnalysisJobStatus> getJobs() {
+        return jobService.getAll();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AnalysisJobStatus> getJob(@PathVariable String id) {
+        return jobService.getStatus(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@PathVariable String id) {
+        return jobService.subscribe(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found: " + id));
+    }
+
+    /**
+     * 200 with the result once the job succeeded, 202 while it is still running,
+     * 409 if it failed, 422 if the project was skipped, 404 if the job is unknown.
+     */
+    @GetMapping("/{id}/result")
+    public ResponseEntity<Object> getResult(@PathVariable String id) {
+        AnalysisJobStatus status = jobService.getStatus(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found: " + id));
+
+        return switch (status.getState()) {
+            case SUCCEEDED -> ResponseEntity.ok(jobService.getResult(id).orElse(null));
+            case FAILED -> ResponseEntity.status(HttpStatus.CONFLICT).body(status);
+            case SKIPPED -> ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(status);
+            default -> ResponseEntity.status(HttpStatus.ACCEPTED).body(status);
+        };
+    }
+
+    private ResponseEntity<AnalysisJobStatus> accepted(AnalysisJobStatus status) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + status.getId()))
+                .body(status);
+    }
+}
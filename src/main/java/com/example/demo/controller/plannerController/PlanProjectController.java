@@ -3,10 +3,12 @@ package com.example.demo.controller.plannerController;
 
 import com.example.demo.model.planner.ProjectPlan;
 import com.example.demo.model.planner.ProjectStrategyVersion;
+import com.example.demo.service.ResourceVersionService;
 import com.example.demo.service.planService.ProjectPlanService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.Collections;
 import java.util.List;
@@ -21,9 +23,16 @@ public class PlanProjectController {
     @Autowired
     private ProjectPlanService projectService;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     // GET /api/projects
     @GetMapping
-    public List<ProjectPlan> getAllPlanProjects() {
+    public List<ProjectPlan> getAllPlanProjects(WebRequest request) {
+        // 304 without hitting SQLite if no plan was written since the client's copy
+        if (request.checkNotModified(resourceVersionService.etag(ResourceVersionService.PLAN_PROJECTS))) {
+            return null;
+        }
         return projectService.findAllProjects();
     }
 
@@ -2,26 +2,25 @@ package com.example.demo.controller.projectController;
 
 import com.example.demo.config.AppConfig;
 import com.example.demo.model.projectModel.Project;
+import com.example.demo.model.projectModel.ProjectPage;
+import com.example.demo.model.projectModel.ReconciliationReport;
 import com.example.demo.repository.ProjectRepository;
 import com.example.demo.service.analyzeService.AnalysisService;
 import com.example.demo.service.DependencyService;
+import com.example.demo.service.ResourceVersionService;
+import com.example.demo.service.projectService.ProjectCatalogService;
+import com.example.demo.service.projectService.ProjectReconcilerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api")
@@ -40,11 +39,14 @@ public class ProjectController {
     @Autowired
     private AppConfig appConfig;
 
-    // List of common build/dependency folders that should NEVER be treated as projects
-    private static final List<String> EXCLUDED_BUILD_DEPENDENCY_FOLDERS = List.of(
-            "node_modules", ".git", "target", "build", "dist", "out", "bin", ".idea", ".vscode",
-            "src", "main", "test", "resources", "lib", "vendor", "docs", "temp", "tmp", "logs"
-    );
+    @Autowired
+    private ProjectCatalogService projectCatalogService;
+
+    @Autowired
+    private ProjectReconcilerService projectReconcilerService;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
 
     private String determineProjectType(String path, String name) {
         String lowerCasePath = path.toLowerCase();
@@ -63,65 +65,42 @@ public class ProjectController {
     }
 
     @GetMapping("/projects")
-    public ResponseEntity<List<Project>> getAllProjects(@RequestParam(required = false) String directoryPath) {
-        List<Project> allProjectsFromDb = projectRepository.findAll();
-        ConcurrentHashMap<String, Project> finalProjectsMap = new ConcurrentHashMap<>();
-
-        // --- Cleanup: Remove DB records for projects not found on file system ---
-        List<Project> projectsToDeleteFromDb = new ArrayList<>();
-        for (Project dbProject : allProjectsFromDb) {
-            Path projectDirectoryPath = Paths.get(dbProject.getPath());
-            if (!Files.exists(projectDirectoryPath) || !Files.isDirectory(projectDirectoryPath)) {
-                System.out.println("Cleaning up DB: Project '" + dbProject.getName() + "' found in DB but its directory '" + dbProject.getPath() + "' is missing. Marking for deletion.");
-                projectsToDeleteFromDb.add(dbProject);
-            }
-        }
-
-        for (Project project : projectsToDeleteFromDb) {
-            projectRepository.deleteById(project.getName());
-            allProjectsFromDb.remove(project);
-        }
-
-        allProjectsFromDb.forEach(project -> finalProjectsMap.put(project.getName(), project));
-
-        // Use Config Paths
-        Path frontendDirPath = appConfig.getFrontendPath();
-        Path backendDirPath = appConfig.getBackendPath();
-
-        BiConsumer<Path, String> scanDirectory = (dirPath, projectType) -> {
-            if (Files.exists(dirPath) && Files.isDirectory(dirPath)) {
-                try (Stream<Path> paths = Files.walk(dirPath, 1)) {
-                    paths.filter(Files::isDirectory)
-                            .filter(path -> !path.equals(dirPath))
-                            .filter(path -> {
-                                String folderName = path.getFileName().toString().toLowerCase();
-                                return !EXCLUDED_BUILD_DEPENDENCY_FOLDERS.contains(folderName);
-                            })
-                            .forEach(path -> {
-                                String folderName = path.getFileName().toString();
-                                String fullPath = path.toString();
-                                if (!finalProjectsMap.containsKey(folderName)) {
-                                    Project discoveredProject = new Project(folderName, projectType, fullPath, "", "", "", null, null);
-                                    finalProjectsMap.put(folderName, discoveredProject);
-                                }
-                            });
-                } catch (IOException e) {
-                    System.err.println("Error scanning " + projectType.toLowerCase() + " project directory: " + e.getMessage());
-                }
-            }
-        };
-
-        scanDirectory.accept(frontendDirPath, "React");
-        scanDirectory.accept(backendDirPath, "Spring");
-
-        List<Project> resultProjects = new ArrayList<>(finalProjectsMap.values());
-
+    public ResponseEntity<List<Project>> getAllProjects(@RequestParam(required = false) String directoryPath, WebRequest request) {
+        // 304 if the catalog hasn't changed since the client's copy (also sets the ETag header)
+        if (request.checkNotModified(resourceVersionService.etag(ResourceVersionService.PROJECTS))) {
+            return null;
+        }
         if (directoryPath != null && !directoryPath.isEmpty()) {
-            resultProjects = resultProjects.stream()
-                    .filter(project -> project.getPath() != null && project.getPath().startsWith(directoryPath))
-                    .collect(Collectors.toList());
+            return ResponseEntity.ok(projectCatalogService.getProjectsUnderPath(directoryPath));
         }
-        return ResponseEntity.ok(resultProjects);
+        return ResponseEntity.ok(projectCatalogService.getProjects());
+    }
+
+    @GetMapping("/projects/page")
+    public ResponseEntity<ProjectPage> getProjectPage(@RequestParam(required = false) String type,
+                                                      @RequestParam(required = false) String pathPrefix,
+                                                      @RequestParam(required = false) String namePrefix,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "" + ProjectCatalogService.DEFAULT_PAGE_SIZE) int limit,
+                                                      WebRequest request) {
+        if (request.checkNotModified(resourceVersionService.etag(ResourceVersionService.PROJECTS))) {
+            return null;
+        }
+        try {
+            return ResponseEntity.ok(projectCatalogService.findPage(type, pathPrefix, namePrefix, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping("/projects/reconciliation")
+    public ResponseEntity<List<ReconciliationReport>> getReconciliationHistory() {
+        return ResponseEntity.ok(projectReconcilerService.getHistory());
+    }
+
+    @PostMapping("/projects/reconciliation")
+    public ResponseEntity<ReconciliationReport> reconcileProjects() {
+        return ResponseEntity.ok(projectReconcilerService.reconcile());
     }
 
     @GetMapping("/projects/{name}")
@@ -156,6 +135,7 @@ public class ProjectController {
         project.setPath(baseDir.resolve(project.getName()).toString());
 
         Project savedProject = projectRepository.save(project);
+        projectCatalogService.upsert(savedProject);
         return ResponseEntity.status(HttpStatus.CREATED).body(savedProject);
     }
 
@@ -183,6 +163,7 @@ public class ProjectController {
         project.setPath(baseDir.resolve(project.getName()).toString());
 
         Project updatedProject = projectRepository.save(project);
+        projectCatalogService.upsert(updatedProject);
         return ResponseEntity.ok(updatedProject);
     }
 
@@ -190,6 +171,7 @@ public class ProjectController {
     public ResponseEntity<Void> deleteProject(@PathVariable String name) {
         if (projectRepository.existsById(name)) {
             projectRepository.deleteById(name);
+            projectCatalogService.evict(name);
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
@@ -0,0 +1,44 @@
+package com.example.demo.controller.searchController;
+
+import com.example.demo.model.searchModel.SearchIndexStats;
+import com.example.demo.model.searchModel.SearchResult;
+import com.example.demo.service.searchService.CodeSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/search")
+public class CodeSearchController {
+
+    @Autowired
+    private CodeSearchService codeSearchService;
+
+    // Full-text search over all project sources, e.g. ?q=repository save*&projects=demo-svc&path=src/main/**
+    @GetMapping
+    public ResponseEntity<SearchResult> search(@RequestParam String q,
+                                               @RequestParam(required = false) String projects,
+                                               @RequestParam(required = false) String path,
+                                               @RequestParam(defaultValue = "20") int limit) {
+        if (q.isBlank() || limit < 1 || limit > CodeSearchService.MAX_LIMIT) {
+            return ResponseEntity.badRequest().build();
+        }
+        Set<String> projectNames = projects == null ? Set.of()
+                : Arrays.stream(projects.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+        return ResponseEntity.ok(codeSearchService.search(q, projectNames, path, limit));
+    }
+
+    @GetMapping("/stats")
+    public SearchIndexStats getStats() {
+        return codeSearchService.getStats();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.demo.model.analyzeModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalysisCacheStats {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private int size;
+    private int maxEntries;
+}
@@ -0,0 +1,19 @@
+package com.example.demo.model.analyzeModel;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Which analyzed projects depend on one groupId:artifactId, and at which versions.
+ */
+@Data
+public class ArtifactUsage {
+    private String groupId;
+    private String artifactId;
+    private List<DependencyUsage> projects = new ArrayList<>();
+    private Map<String, Integer> versions = new TreeMap<>(); // version -> number of projects
+}
@@ -7,4 +7,5 @@ public class DependencyInfo {
     private String groupId;
     private String artifactId;
     private String version;
+    private String scope;
 }
@@ -0,0 +1,14 @@
+package com.example.demo.model.analyzeModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependencyUsage {
+    private String projectName;
+    private String version;     // null if not resolvable (e.g. parent not available locally)
+    private String scope;       // null = compile
+}
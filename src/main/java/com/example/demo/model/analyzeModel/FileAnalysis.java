@@ -0,0 +1,18 @@
+package com.example.demo.model.analyzeModel;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything the source visitors extracted from a single .java file.
+ * Project-level results are the merge of these, in path order.
+ */
+@Data
+public class FileAnalysis {
+    private String path;            // relative to the project root, '/' separated
+    private boolean springMarker;   // @SpringBootApplication, @RestController or SpringApplication.run seen
+    private List<ApiEndpoint> apiEndpoints = new ArrayList<>();
+    private List<EntityInfo> entities = new ArrayList<>();
+}
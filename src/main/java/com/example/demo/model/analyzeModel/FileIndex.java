@@ -0,0 +1,16 @@
+package com.example.demo.model.analyzeModel;
+
+import lombok.Data;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-project incremental analysis cache, stored next to analysis.json.
+ * Keyed by the file's path relative to the project root.
+ */
+@Data
+public class FileIndex {
+    private int version;
+    private Map<String, FileIndexEntry> files = new TreeMap<>();
+}
@@ -0,0 +1,18 @@
+package com.example.demo.model.analyzeModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fingerprint of one source file plus what was extracted from it at that revision.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FileIndexEntry {
+    private long size;
+    private long lastModified;  // epoch millis
+    private String hash;        // SHA-256 of the file content, hex
+    private FileAnalysis analysis;
+}
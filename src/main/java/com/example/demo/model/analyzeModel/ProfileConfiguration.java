@@ -0,0 +1,20 @@
+package com.example.demo.model.analyzeModel;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Effective application configuration of a project for a set of active profiles.
+ */
+@Data
+public class ProfileConfiguration {
+    private String projectName;
+    private List<String> activeProfiles = new ArrayList<>();
+    private List<String> availableProfiles = new ArrayList<>();
+    private String projectUrl;
+    private Map<String, String> properties = new LinkedHashMap<>();
+}
@@ -21,6 +21,7 @@ public class ProjectAnalysisResult {
     private List<EntityInfo> entities = new ArrayList<>();
     private List<DependencyInfo> dependencies = new ArrayList<>();
     private Map<String, String> configuration = new LinkedHashMap<>();
+    private Map<String, String> profileUrls = new LinkedHashMap<>(); // profile -> projectUrl with only that profile active
 
     // --- Metadata / Status ---
     private String error;       // in case analysis fails
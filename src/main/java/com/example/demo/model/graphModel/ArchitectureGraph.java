@@ -12,6 +12,7 @@ import java.util.List;
 public class ArchitectureGraph {
     private List<Node> nodes = new ArrayList<>();
     private List<Edge> edges = new ArrayList<>();
+    private long version;   // pass to /graph/diff?since= to fetch only what changed afterwards
 
     @Data
     @AllArgsConstructor
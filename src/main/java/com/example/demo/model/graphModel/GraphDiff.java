@@ -0,0 +1,22 @@
+package com.example.demo.model.graphModel;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Changes to a project's architecture graph between two versions.
+ * If fullReloadRequired is set the lists are empty and the client must
+ * fetch the whole graph again (unknown or expired "since" version).
+ */
+@Data
+public class GraphDiff {
+    private long fromVersion;
+    private long toVersion;
+    private boolean fullReloadRequired;
+    private List<ArchitectureGraph.Node> addedNodes = new ArrayList<>();
+    private List<ArchitectureGraph.Node> removedNodes = new ArrayList<>();
+    private List<ArchitectureGraph.Edge> addedEdges = new ArrayList<>();
+    private List<ArchitectureGraph.Edge> removedEdges = new ArrayList<>();
+}
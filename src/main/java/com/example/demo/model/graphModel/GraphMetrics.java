@@ -0,0 +1,42 @@
+package com.example.demo.model.graphModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cycle, layering and coupling analysis of one version of a project's architecture graph.
+ */
+@Data
+public class GraphMetrics {
+    private long version;
+    private int nodeCount;
+    private int edgeCount;
+    private List<List<String>> cycles = new ArrayList<>();   // strongly connected components with a cycle, largest first
+    private List<LayerViolation> layerViolations = new ArrayList<>();
+    private List<NodeMetrics> nodes = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class LayerViolation {
+        private String source;
+        private String sourceType;
+        private String target;
+        private String targetType;
+        private String relation;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class NodeMetrics {
+        private String id;
+        private String type;
+        private int fanIn;      // classes depending on this one
+        private int fanOut;     // classes this one depends on
+    }
+}
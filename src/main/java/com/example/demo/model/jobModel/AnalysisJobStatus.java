@@ -0,0 +1,30 @@
+package com.example.demo.model.jobModel;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of a background analysis job, as returned by /api/jobs and pushed over SSE.
+ */
+@Data
+public class AnalysisJobStatus {
+
+    public enum JobType { SPRING_ANALYSIS, PROJECT_ANALYSIS, GRAPH }
+
+    // SKIPPED: the analyzer declined the project (e.g. not a Spring Boot project)
+    public enum State { QUEUED, RUNNING, SUCCEEDED, SKIPPED, FAILED }
+
+    private String id;
+    private JobType type;
+    private String projectName;
+    private State state;
+    private String phase;           // e.g. "waiting", "walking", "scanning", "parsing", "config"
+    private int filesTotal;
+    private int filesScanned;
+    private Long etaSeconds;        // null until enough files are done to estimate
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
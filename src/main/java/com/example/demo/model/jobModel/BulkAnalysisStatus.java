@@ -0,0 +1,35 @@
+package com.example.demo.model.jobModel;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Snapshot of a bulk "analyze every backend project" run.
+ */
+@Data
+public class BulkAnalysisStatus {
+
+    private String id;
+    private AnalysisJobStatus.State state;
+    private int concurrency;
+    private int projectsTotal;
+    private int projectsSucceeded;
+    private int projectsFailed;
+    private int projectsSkipped;    // folders that are not Spring Boot projects
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+    private List<ProjectOutcome> projects = new ArrayList<>();   // in completion order
+
+    @Data
+    public static class ProjectOutcome {
+        private String projectName;
+        private boolean success;
+        private boolean skipped;
+        private String summary;
+        private String error;
+        private long durationMs;
+    }
+}
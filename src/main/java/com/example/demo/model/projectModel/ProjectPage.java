@@ -0,0 +1,20 @@
+package com.example.demo.model.projectModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of the project list. Pass nextCursor back as ?cursor= to get the following page;
+ * it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectPage {
+    private List<Project> items = new ArrayList<>();
+    private String nextCursor;
+}
@@ -0,0 +1,18 @@
+package com.example.demo.model.projectModel;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of one DB-vs-disk reconciliation pass over the Project table.
+ */
+@Data
+public class ReconciliationReport {
+    private LocalDateTime runAt;
+    private int checked;                                // number of DB rows inspected
+    private List<String> removed = new ArrayList<>();   // names of rows whose directory was missing
+    private String error;
+}
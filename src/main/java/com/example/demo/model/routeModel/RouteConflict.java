@@ -0,0 +1,24 @@
+package com.example.demo.model.routeModel;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routes with the same HTTP method that can match the same request path.
+ */
+@Data
+public class RouteConflict {
+
+    public enum Type {
+        DUPLICATE,  // same pattern (up to variable names)
+        AMBIGUOUS,  // overlapping, and neither pattern is more specific
+        OVERLAP     // overlapping across services, one more specific (Spring would pick it within one service)
+    }
+
+    private Type type;
+    private String httpMethod;
+    private boolean crossService;
+    private List<RouteInfo> routes = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package com.example.demo.model.routeModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One endpoint of one analyzed service, as seen from outside (context path included).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RouteInfo {
+    private String projectName;
+    private String controller;
+    private String httpMethod;
+    private String pattern;     // e.g. /api/users/{id}
+    private String projectUrl;
+}
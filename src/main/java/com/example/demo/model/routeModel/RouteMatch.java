@@ -0,0 +1,16 @@
+package com.example.demo.model.routeModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RouteMatch {
+    private RouteInfo route;
+    private Map<String, String> variables = new LinkedHashMap<>();  // {id} -> "42"
+}
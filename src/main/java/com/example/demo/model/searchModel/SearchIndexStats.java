@@ -0,0 +1,17 @@
+package com.example.demo.model.searchModel;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class SearchIndexStats {
+    private String state;           // BUILDING, READY or WATCH_DISABLED (index built, no live updates)
+    private int projects;
+    private int documents;
+    private int terms;
+    private long lines;
+    private long bytes;
+    private int watchedDirectories;
+    private LocalDateTime lastUpdate;
+}
@@ -0,0 +1,37 @@
+package com.example.demo.model.searchModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ranked files matching a code search query (all terms must match).
+ */
+@Data
+public class SearchResult {
+    private String query;
+    private int totalHits;      // matching files after filters, of which the best "limit" are listed
+    private long tookMs;
+    private List<Hit> hits = new ArrayList<>();
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Hit {
+        private String projectName;
+        private String path;    // relative to the project root, '/'-separated
+        private double score;
+        private List<Snippet> snippets = new ArrayList<>();
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Snippet {
+        private int line;       // 1-based
+        private String text;
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.demo.service;
 
 import com.example.demo.model.projectModel.Project;
+import com.example.demo.service.analyzeService.pom.PomModel;
+import com.example.demo.service.analyzeService.pom.PomReader;
+import com.example.demo.service.analyzeService.pom.PomResolver;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.io.StringReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -12,6 +17,9 @@ import java.nio.file.StandardOpenOption;
 @Service
 public class DependencyService {
 
+    @Autowired
+    private PomResolver pomResolver;
+
     private static final String SQLITE_JDBC_DEPENDENCY =
             "        <dependency>\n" +
             "            <groupId>org.xerial</groupId>\n" +
@@ -66,25 +74,32 @@ public class DependencyService {
     }
 
     private void addDependenciesToPom(Path pomPath) throws IOException {
-        String content = Files.readString(pomPath);
-
-        // Check if dependencies already exist
-        if (content.contains("<artifactId>sqlite-jdbc</artifactId>")) {
+        // Check if dependencies already exist (also when inherited from a parent pom)
+        boolean present = pomResolver.resolve(pomPath).getDependencies().stream()
+                .anyMatch(d -> "org.xerial".equals(d.getGroupId()) && "sqlite-jdbc".equals(d.getArtifactId()));
+        if (present) {
             System.out.println("sqlite-jdbc dependency already exists in " + pomPath);
             return; // Already added
         }
 
-        // Find the </dependencies> tag and insert before it
-        int dependenciesEndIndex = content.lastIndexOf("</dependencies>");
-        if (dependenciesEndIndex == -1) {
-            // If no <dependencies> block, we'd need a more complex XML parser.
-            // For now, assume it exists.
-            throw new IOException("<dependencies> block not found in pom.xml. Automatic injection failed.");
-        }
+        // Locate the project-level <dependencies> block (not dependencyManagement or plugin dependencies)
+        String content = Files.readString(pomPath);
+        PomModel model = PomReader.read(new StringReader(content));
 
         StringBuilder newContent = new StringBuilder(content);
-        // Insert new dependencies just before the closing </dependencies> tag
-        newContent.insert(dependenciesEndIndex, SQLITE_JDBC_DEPENDENCY + HIBERNATE_DIALECT_DEPENDENCY);
+        if (model.getDependenciesEnd() >= 0) {
+            // Insert new dependencies just before the closing </dependencies> tag
+            int dependenciesEndIndex = content.lastIndexOf("</dependencies>", model.getDependenciesEnd());
+            newContent.insert(dependenciesEndIndex, SQLITE_JDBC_DEPENDENCY + HIBERNATE_DIALECT_DEPENDENCY);
+        } else {
+            // No <dependencies> block yet: add one before </project>
+            int projectEndIndex = content.lastIndexOf("</project>", model.getProjectEnd());
+            if (projectEndIndex == -1) {
+                throw new IOException("</project> not found in pom.xml. Automatic injection failed.");
+            }
+            newContent.insert(projectEndIndex, "    <dependencies>\n" + SQLITE_JDBC_DEPENDENCY
+                    + HIBERNATE_DIALECT_DEPENDENCY + "    </dependencies>\n");
+        }
 
         Files.writeString(pomPath, newContent.toString(), StandardOpenOption.TRUNCATE_EXISTING);
     }
@@ -3,6 +3,7 @@ package com.example.demo.service;
 import com.example.demo.config.AppConfig;
 import com.example.demo.model.projectModel.Project;
 import com.example.demo.repository.ProjectRepository;
+import com.example.demo.service.projectService.ProjectCatalogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -26,6 +27,9 @@ public class ProjectCreationService {
     @Autowired
     private AppConfig appConfig;
 
+    @Autowired
+    private ProjectCatalogService projectCatalogService;
+
     public Project createProject(Project project) throws IOException, InterruptedException {
 
         // Validate project
@@ -67,7 +71,7 @@ public class ProjectCreationService {
                 Path projectDir = workingDirectory.resolve(project.getName());
                 Files.createDirectories(projectDir);
                 project.setPath(projectDir.toString());
-                return projectRepository.save(project);
+                return saveProject(project);
             }
         }
 
@@ -76,7 +80,13 @@ public class ProjectCreationService {
         project.setPath(baseDir.resolve(project.getName()).toString());
 
         executeCommand(creationCommand, workingDirectory, project.getName());
-        return projectRepository.save(project);
+        return saveProject(project);
+    }
+
+    private Project saveProject(Project project) {
+        Project savedProject = projectRepository.save(project);
+        projectCatalogService.upsert(savedProject);
+        return savedProject;
     }
 
     private void executeCommand(String command, Path workingDirectory, String projectName) throws IOException, InterruptedException {
@@ -0,0 +1,63 @@
+package com.example.demo.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version counters for readable resources, bumped by their write paths.
+ * Reads turn the current version into an ETag so unchanged resources can be
+ * answered with 304 Not Modified without loading them.
+ */
+@Service
+public class ResourceVersionService {
+
+    public static final String PROJECTS = "projects";
+    public static final String PLAN_PROJECTS = "plan-projects";
+
+    // Counters live in memory, so tag them with the boot time to avoid reusing ETags across restarts
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public static String analysisKey(String projectName) {
+        return "analysis:" + projectName;
+    }
+
+    public long bump(String key) {
+        return versions.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    /**
+     * Bumps once the surrounding transaction has committed (right away without one),
+     * so a concurrent read can never pair the new ETag with the old row.
+     */
+    public void bumpAfterCommit(String key) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(key);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                bump(key);
+            }
+        });
+    }
+
+    public long current(String key) {
+        AtomicLong version = versions.get(key);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * Strong ETag value (quoted) for the current version of the given resource.
+     */
+    public String etag(String key) {
+        return "\"" + Integer.toHexString(key.hashCode()) + "-" + epoch + "-" + current(key) + "\"";
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.service.analyzeService;
+
+import com.example.demo.model.analyzeModel.AnalysisCacheStats;
+import com.example.demo.model.analyzeModel.ProjectAnalysisResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * LRU cache of stored analysis results, keyed by project name.
+ *
+ * SpringAnalyzerService is the only writer of analyzed/<project>/analysis.json and
+ * writes through this cache, so a cached entry is always current and repeat reads
+ * never touch the disk. "No stored result" is cached too (as an empty Optional).
+ */
+@Component
+public class AnalysisResultCache {
+
+    private final int maxEntries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Access-ordered; removeEldestEntry drops the least recently used project
+    private final LinkedHashMap<String, Optional<ProjectAnalysisResult>> entries;
+
+    public AnalysisResultCache(@Value("${app.analysis.result-cache-size:64}") int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Optional<ProjectAnalysisResult>> eldest) {
+                if (size() <= AnalysisResultCache.this.maxEntries) return false;
+                evictions.incrementAndGet();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result, calling loader (outside the lock) on a miss.
+     * A null from the loader is cached as "no stored result".
+     */
+    public ProjectAnalysisResult get(String projectName, Function<String, ProjectAnalysisResult> loader) {
+        synchronized (this) {
+            Optional<ProjectAnalysisResult> cached = entries.get(projectName);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached.orElse(null);
+            }
+        }
+
+        misses.incrementAndGet();
+        ProjectAnalysisResult loaded = loader.apply(projectName);
+        synchronized (this) {
+            // A result saved while we were loading wins over what we read
+            entries.putIfAbsent(projectName, Optional.ofNullable(loaded));
+        }
+        return loaded;
+    }
+
+    public synchronized void put(String projectName, ProjectAnalysisResult result) {
+        entries.put(projectName, Optional.ofNullable(result));
+    }
+
+    public synchronized void invalidate(String projectName) {
+        entries.remove(projectName);
+    }
+
+    public synchronized AnalysisCacheStats getStats() {
+        return new AnalysisCacheStats(hits.get(), misses.get(), evictions.get(), entries.size(), maxEntries);
+    }
+}
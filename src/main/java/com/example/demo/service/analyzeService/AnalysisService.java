@@ -2,6 +2,14 @@ package com.example.demo.service.analyzeService;
 
 import com.example.demo.model.projectModel.Project;
 import com.example.demo.repository.ProjectRepository;
+import com.example.demo.service.analyzeService.engine.AnalysisProgress;
+import com.example.demo.service.analyzeService.engine.MarkerPrefilter;
+import com.example.demo.service.analyzeService.engine.ParallelAnalysisEngine;
+import com.example.demo.service.analyzeService.engine.ParsedSourceCache;
+import com.example.demo.service.analyzeService.scanner.ControllerVisitor;
+import com.example.demo.service.analyzeService.scanner.ProjectFileWalker;
+import com.example.demo.service.analyzeService.scanner.SourceTokenizer;
+import com.example.demo.service.projectService.ProjectCatalogService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,7 +23,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Stream;
 
 @Service
 public class AnalysisService {
@@ -26,6 +33,21 @@ public class AnalysisService {
     @Autowired
     private ObjectMapper objectMapper; // Spring Boot provides this
 
+    @Autowired
+    private ProjectCatalogService projectCatalogService;
+
+    @Autowired
+    private ParallelAnalysisEngine analysisEngine;
+
+    @Autowired
+    private ParsedSourceCache sourceCache;
+
+    @Autowired
+    private ProjectFileWalker fileWalker;
+
+    @Autowired
+    private MarkerPrefilter markerPrefilter;
+
     // --- DTO for API Endpoints ---
     @Data
     private static class ApiEndpoint {
@@ -52,21 +74,23 @@ public class AnalysisService {
         }
     }
 
-    // --- Regex Patterns ---
-    // Simple regex for Spring request mappings (e.g., @GetMapping("/path"))
-    private static final Pattern MAPPING_PATTERN = Pattern.compile("@(Get|Post|Put|Delete|Patch)Mapping\\(\"?(.*?)\"?\\)");
-    // Simple regex for Java method names (e.g., public String getThing(...))
-    private static final Pattern METHOD_PATTERN = Pattern.compile("public\\s+[\\w<>]+\\s+([a-zA-Z0-9_]+)\\s*\\(");
+    // --- Regex Patterns (React; Spring sources go through SourceTokenizer) ---
     // Simple regex for React components (e.g., export default function MyComponent)
     private static final Pattern REACT_FUNC_PATTERN = Pattern.compile("export\\s+default\\s+function\\s+([A-Za-z0-9_]+)");
     // Simple regex for React arrow func components (e.g., const MyComponent = () =>)
     private static final Pattern REACT_CONST_PATTERN = Pattern.compile("const\\s+([A-Za-z0-9_]+)\\s*=\\s*\\(");
 
+    private static final byte[][] REST_CONTROLLER_MARKER = MarkerPrefilter.markers("@RestController");
+
 
     /**
      * Analyzes a project based on its type and saves metadata.
      */
     public Project analyzeProject(Project project) throws IOException {
+        return analyzeProject(project, AnalysisProgress.NONE);
+    }
+
+    public Project analyzeProject(Project project, AnalysisProgress progress) throws IOException {
         String type = project.getType();
         Path path = Paths.get(project.getPath());
 
@@ -76,12 +100,12 @@ public class AnalysisService {
 
         switch (type) {
             case "Spring":
-                List<ApiEndpoint> endpoints = analyzeSpringProject(path);
+                List<ApiEndpoint> endpoints = analyzeSpringProject(path, progress);
                 project.setApiMetadata(objectMapper.writeValueAsString(endpoints));
                 project.setComponentMetadata(null); // Clear other metadata
                 break;
             case "React":
-                List<ReactComponent> components = analyzeReactProject(path);
+                List<ReactComponent> components = analyzeReactProject(path, progress);
                 project.setComponentMetadata(objectMapper.writeValueAsString(components));
                 project.setApiMetadata(null); // Clear other metadata
                 break;
@@ -89,14 +113,16 @@ public class AnalysisService {
                 // No analysis for this type
                 break;
         }
-        return projectRepository.save(project);
+        Project savedProject = projectRepository.save(project);
+        projectCatalogService.upsert(savedProject);
+        return savedProject;
     }
 
     /**
      * Scans a Spring project directory for API endpoints.
-     * This is a simple regex-based scan and not a full AST parse.
+     * A token-level scan (SourceTokenizer), not a full AST parse.
      */
-    private List<ApiEndpoint> analyzeSpringProject(Path projectPath) throws IOException {
+    private List<ApiEndpoint> analyzeSpringProject(Path projectPath, AnalysisProgress progress) throws IOException {
         List<ApiEndpoint> endpoints = new ArrayList<>();
         // Only scan within src/main/java
         Path srcPath = projectPath.resolve("src").resolve("main").resolve("java");
@@ -105,41 +131,47 @@ public class AnalysisService {
             return endpoints; // No src path found
         }
 
-        try (Stream<Path> paths = Files.walk(srcPath)) {
-            paths.filter(Files::isRegularFile)
-                 .filter(p -> p.toString().endsWith(".java"))
-                 .filter(p -> {
-                     try {
-                         // Only process files that contain @RestController
-                         return Files.readString(p).contains("@RestController");
-                     } catch (IOException e) {
-                         return false;
-                     }
-                 })
-                 .forEach(file -> {
-                     try {
-                         String content = Files.readString(file);
-                         String[] lines = content.split("\\R");
-                         String lastMethodName = "unknownMethod";
-
-                         for (String line : lines) {
-                             Matcher methodMatcher = METHOD_PATTERN.matcher(line);
-                             if (methodMatcher.find()) {
-                                 lastMethodName = methodMatcher.group(1);
-                             }
-
-                             Matcher mappingMatcher = MAPPING_PATTERN.matcher(line);
-                             if (mappingMatcher.find()) {
-                                 String method = mappingMatcher.group(1).toUpperCase();
-                                 String path = mappingMatcher.group(2);
-                                 endpoints.add(new ApiEndpoint(method, path, lastMethodName));
-                             }
-                         }
-                     } catch (IOException e) {
-                         System.err.println("Error reading file: " + file);
-                     }
-                 });
-        }
+        List<Path> javaFiles = fileWalker.listFiles(projectPath, srcPath, p -> p.toString().endsWith(".java"));
+
+        // Per-file scan on the worker pool; results come back in walk order
+        progress.phase("scanning");
+        analysisEngine.map(javaFiles, file -> {
+            // Only process files that contain @RestController; checked on raw bytes, so others are never decoded
+            if (!markerPrefilter.containsAny(file, REST_CONTROLLER_MARKER, null)) return null;
+            String content = sourceCache.get(file).getContent();
+
+            List<ApiEndpoint> fileEndpoints = new ArrayList<>();
+            SourceTokenizer.tokenize(content, new SourceTokenizer.Listener() {
+                private boolean isRestController;
+                // Mapping annotations waiting for the method they annotate
+                private final List<ApiEndpoint> pending = new ArrayList<>();
+
+                @Override
+                public void annotation(CharSequence src, int nameStart, int nameEnd, int argsStart, int argsEnd) {
+                    if (SourceTokenizer.regionEquals(src, nameStart, nameEnd, "RestController")) {
+                        isRestController = true;
+                        return;
+                    }
+                    String method = ControllerVisitor.httpMethod(src, nameStart, nameEnd);
+                    if (method != null) {
+                        pending.add(new ApiEndpoint(method, ControllerVisitor.mappingValue(src, argsStart, argsEnd), null));
+                    }
+                }
+
+                @Override
+                public void methodDeclaration(CharSequence src, int nameStart, int nameEnd) {
+                    if (pending.isEmpty()) return;
+                    String methodName = src.subSequence(nameStart, nameEnd).toString();
+                    for (ApiEndpoint endpoint : pending) {
+                        endpoint.setJavaMethodName(methodName);
+                        if (isRestController) fileEndpoints.add(endpoint);
+                    }
+                    pending.clear();
+                }
+            });
+            return fileEndpoints;
+        }, progress).forEach(endpoints::addAll);
+
         return endpoints;
     }
 
@@ -147,7 +179,7 @@ public class AnalysisService {
      * Scans a React project directory for components.
      * This is a simple regex-based scan.
      */
-    private List<ReactComponent> analyzeReactProject(Path projectPath) throws IOException {
+    private List<ReactComponent> analyzeReactProject(Path projectPath, AnalysisProgress progress) throws IOException {
         List<ReactComponent> components = new ArrayList<>();
         // Only scan within src
         Path srcPath = projectPath.resolve("src");
@@ -156,36 +188,31 @@ public class AnalysisService {
             return components; // No src path found
         }
 
-        try (Stream<Path> paths = Files.walk(srcPath)) {
-            paths.filter(Files::isRegularFile)
-                 .filter(p -> {
-                     String fileName = p.toString();
-                     return (fileName.endsWith(".tsx") || fileName.endsWith(".jsx")) &&
-                            !fileName.contains(".test.") && !fileName.contains(".spec.");
-                 })
-                 .forEach(file -> {
-                     try {
-                         String content = Files.readString(file);
-                         String fileName = file.getFileName().toString();
-
-                         Matcher funcMatcher = REACT_FUNC_PATTERN.matcher(content);
-                         if (funcMatcher.find()) {
-                             components.add(new ReactComponent(funcMatcher.group(1), fileName));
-                         } else {
-                             Matcher constMatcher = REACT_CONST_PATTERN.matcher(content);
-                             if (constMatcher.find()) {
-                                 // Check if it's likely a component (starts with uppercase)
-                                 String name = constMatcher.group(1);
-                                 if (Character.isUpperCase(name.charAt(0))) {
-                                     components.add(new ReactComponent(name, fileName));
-                                 }
-                             }
-                         }
-                     } catch (IOException e) {
-                         System.err.println("Error reading file: " + file);
-                     }
-                 });
-        }
+        List<Path> componentFiles = fileWalker.listFiles(projectPath, srcPath, p -> {
+            String fileName = p.toString();
+            return (fileName.endsWith(".tsx") || fileName.endsWith(".jsx")) &&
+                   !fileName.contains(".test.") && !fileName.contains(".spec.");
+        });
+
+        progress.phase("scanning");
+        components.addAll(analysisEngine.map(componentFiles, file -> {
+            String content = sourceCache.get(file).getContent();
+            String fileName = file.getFileName().toString();
+
+            Matcher funcMatcher = REACT_FUNC_PATTERN.matcher(content);
+            if (funcMatcher.find()) {
+                return new ReactComponent(funcMatcher.group(1), fileName);
+            }
+            Matcher constMatcher = REACT_CONST_PATTERN.matcher(content);
+            if (constMatcher.find()) {
+                // Check if it's likely a component (starts with uppercase)
+                String name = constMatcher.group(1);
+                if (Character.isUpperCase(name.charAt(0))) {
+                    return new ReactComponent(name, fileName);
+                }
+            }
+            return null;
+        }, progress));
         return components;
     }
 }
@@ -2,20 +2,34 @@ package com.example.demo.service.analyzeService;
 
 import com.example.demo.config.AppConfig;
 import com.example.demo.model.graphModel.ArchitectureGraph;
-import com.github.javaparser.StaticJavaParser;
+import com.example.demo.model.graphModel.GraphDiff;
+import com.example.demo.model.graphModel.GraphMetrics;
+import com.example.demo.service.analyzeService.engine.AnalysisProgress;
+import com.example.demo.service.analyzeService.engine.ParallelAnalysisEngine;
+import com.example.demo.service.analyzeService.engine.ParsedSourceCache;
+import com.example.demo.service.analyzeService.graph.CompactGraph;
+import com.example.demo.service.analyzeService.graph.FileSymbols;
+import com.example.demo.service.analyzeService.graph.GraphIndex;
+import com.example.demo.service.analyzeService.graph.ProjectGraphState;
+import com.example.demo.service.analyzeService.scanner.ProjectFileWalker;
+import com.github.javaparser.ParseProblemException;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
-import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.stream.Stream;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class ArchitectureGraphService {
@@ -23,73 +37,155 @@ public class ArchitectureGraphService {
     @Autowired
     private AppConfig appConfig;
 
+    @Autowired
+    private ParallelAnalysisEngine analysisEngine;
+
+    @Autowired
+    private ParsedSourceCache sourceCache;
+
+    @Autowired
+    private ProjectFileWalker fileWalker;
+
+    // Project name -> cached, incrementally patched graph
+    private final Map<String, ProjectGraphState> graphs = new ConcurrentHashMap<>();
+
     public ArchitectureGraph generateGraph(String projectName) throws IOException {
-        ArchitectureGraph graph = new ArchitectureGraph();
+        return generateGraph(projectName, AnalysisProgress.NONE);
+    }
+
+    /**
+     * Returns the project's graph, re-parsing only the files that changed since the
+     * previous call. The graph is cached per project; see ProjectGraphState.
+     */
+    public ArchitectureGraph generateGraph(String projectName, AnalysisProgress progress) throws IOException {
+        return getCompactGraph(projectName, progress).toArchitectureGraph();
+    }
+
+    /**
+     * Same as generateGraph, in its compact form (for streaming it without building objects).
+     */
+    public CompactGraph getCompactGraph(String projectName) throws IOException {
+        return getCompactGraph(projectName, AnalysisProgress.NONE);
+    }
+
+    private CompactGraph getCompactGraph(String projectName, AnalysisProgress progress) throws IOException {
         Path projectPath = appConfig.getBackendPath().resolve(projectName);
 
         if (!Files.exists(projectPath)) {
+            graphs.remove(projectName);
             throw new IOException("Project not found: " + projectPath);
         }
 
-        // 1. Map to store all discovered class names to avoid linking to external libs (like String, List)
-        Map<String, String> projectClasses = new HashMap<>();
-
-        // First Pass: Identify all Nodes (Classes)
-        try (Stream<Path> stream = Files.walk(projectPath)) {
-            stream.filter(p -> p.toString().endsWith(".java")).forEach(path -> {
-                try {
-                    CompilationUnit cu = StaticJavaParser.parse(path);
-                    cu.findAll(ClassOrInterfaceDeclaration.class).forEach(c -> {
-                        String className = c.getNameAsString();
-                        String type = determineType(c);
-                        
-                        // Store for second pass
-                        projectClasses.put(className, type);
-
-                        // Add Node to Graph
-                        graph.getNodes().add(new ArchitectureGraph.Node(className, className, type));
-                    });
-                } catch (Exception ignored) {}
-            });
+        ProjectGraphState state = graphs.computeIfAbsent(projectName, k -> new ProjectGraphState());
+        synchronized (state) {
+            refresh(state, projectPath, progress);
+            return state.getGraph();
         }
+    }
 
-        // Second Pass: Identify Edges (Relationships)
-        try (Stream<Path> stream = Files.walk(projectPath)) {
-            stream.filter(p -> p.toString().endsWith(".java")).forEach(path -> {
-                try {
-                    CompilationUnit cu = StaticJavaParser.parse(path);
-                    cu.findAll(ClassOrInterfaceDeclaration.class).forEach(sourceClass -> {
-                        String sourceName = sourceClass.getNameAsString();
-
-                        // 1. Check Fields (Dependency Injection)
-                        sourceClass.findAll(FieldDeclaration.class).forEach(field -> {
-                            field.getVariables().forEach(variable -> {
-                                String targetType = variable.getType().asString();
-                                // Clean up generic types e.g., List<Project> -> Project
-                                if(targetType.contains("<")) {
-                                    targetType = targetType.substring(targetType.indexOf("<") + 1, targetType.indexOf(">"));
-                                }
-                                
-                                // Only create edge if target is part of this project
-                                if (projectClasses.containsKey(targetType)) {
-                                    graph.getEdges().add(new ArchitectureGraph.Edge(sourceName, targetType, "USES"));
-                                }
-                            });
-                        });
-
-                        // 2. Check Extensions (Inheritance)
-                        sourceClass.getExtendedTypes().forEach(extendedType -> {
-                            String targetType = extendedType.getNameAsString();
-                            if (projectClasses.containsKey(targetType)) {
-                                graph.getEdges().add(new ArchitectureGraph.Edge(sourceName, targetType, "EXTENDS"));
-                            }
-                        });
-                    });
-                } catch (Exception ignored) {}
-            });
+    /**
+     * Nodes and edges added/removed since the given graph version.
+     */
+    public GraphDiff getGraphDiff(String projectName, long sinceVersion) throws IOException {
+        getCompactGraph(projectName);
+        ProjectGraphState state = graphs.get(projectName);
+        synchronized (state) {
+            return state.diffSince(sinceVersion);
+        }
+    }
+
+    /**
+     * Adjacency index of the project's current graph, for server-side subgraph queries.
+     */
+    public GraphIndex getGraphIndex(String projectName) throws IOException {
+        getCompactGraph(projectName);
+        ProjectGraphState state = graphs.get(projectName);
+        synchronized (state) {
+            return state.getIndex();
+        }
+    }
+
+    /**
+     * Cycles, layer violations and fan-in/fan-out of the project's current graph
+     * (computed once per graph version).
+     */
+    public GraphMetrics getGraphMetrics(String projectName) throws IOException {
+        getCompactGraph(projectName);
+        ProjectGraphState state = graphs.get(projectName);
+        synchronized (state) {
+            return state.getMetrics();
+        }
+    }
+
+    private void refresh(ProjectGraphState state, Path projectPath, AnalysisProgress progress) throws IOException {
+        progress.phase("walking");
+        List<Path> javaFiles = fileWalker.listFiles(projectPath, p -> p.toString().endsWith(".java"));
+
+        // Only files that are new or whose size/mtime changed are parsed again
+        List<Path> changedFiles = new ArrayList<>();
+        for (Path file : javaFiles) {
+            FileSymbols known = state.getFile(file);
+            if (known == null) {
+                changedFiles.add(file);
+                continue;
+            }
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            if (attrs.size() != known.getSize() || attrs.lastModifiedTime().toMillis() != known.getLastModified()) {
+                changedFiles.add(file);
+            }
+        }
+        Set<Path> removedFiles = new HashSet<>(state.getFiles());
+        javaFiles.forEach(removedFiles::remove);
+
+        if (state.isBuilt() && changedFiles.isEmpty() && removedFiles.isEmpty()) return;
+
+        progress.phase("parsing");
+        Map<Path, FileSymbols> changed = new HashMap<>();
+        analysisEngine.map(changedFiles, path -> Map.entry(path, collectSymbols(path)), progress)
+                .forEach(entry -> changed.put(entry.getKey(), entry.getValue()));
+
+        // Resolve references against the project's own classes only (not String, List, ...)
+        progress.phase("resolving");
+        state.apply(changed, removedFiles);
+    }
+
+    /**
+     * Parses one file (through the shared cache). A file that does not parse contributes
+     * no symbols, and is not retried until it changes again.
+     */
+    private FileSymbols collectSymbols(Path file) throws IOException {
+        ParsedSourceCache.CachedSource source = sourceCache.get(file);
+        FileSymbols symbols = new FileSymbols(source.getSize(), source.getLastModified());
+
+        CompilationUnit cu;
+        try {
+            cu = source.getCompilationUnit();
+        } catch (ParseProblemException e) {
+            System.err.println("Failed to parse " + file + " for architecture graph: " + e.getMessage());
+            return symbols;
         }
 
-        return graph;
+        cu.findAll(ClassOrInterfaceDeclaration.class).forEach(sourceClass -> {
+            String sourceName = sourceClass.getNameAsString();
+            symbols.getDeclarations().add(new ArchitectureGraph.Node(sourceName, sourceName, determineType(sourceClass)));
+
+            // 1. Check Fields (Dependency Injection)
+            sourceClass.findAll(FieldDeclaration.class).forEach(field -> {
+                field.getVariables().forEach(variable -> {
+                    String targetType = variable.getType().asString();
+                    // Clean up generic types e.g., List<Project> -> Project
+                    if(targetType.contains("<")) {
+                        targetType = targetType.substring(targetType.indexOf("<") + 1, targetType.indexOf(">"));
+                    }
+                    symbols.getReferences().add(new ArchitectureGraph.Edge(sourceName, targetType, "USES"));
+                });
+            });
+
+            // 2. Check Extensions (Inheritance)
+            sourceClass.getExtendedTypes().forEach(extendedType ->
+                    symbols.getReferences().add(new ArchitectureGraph.Edge(sourceName, extendedType.getNameAsString(), "EXTENDS")));
+        });
+        return symbols;
     }
 
     private String determineType(ClassOrInterfaceDeclaration c) {
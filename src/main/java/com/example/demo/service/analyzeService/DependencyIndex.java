@@ -0,0 +1,107 @@
+package com.example.demo.service.analyzeService;
+
+import com.example.demo.model.analyzeModel.ArtifactUsage;
+import com.example.demo.model.analyzeModel.DependencyInfo;
+import com.example.demo.model.analyzeModel.DependencyUsage;
+import com.example.demo.model.analyzeModel.ProjectAnalysisResult;
+import com.example.demo.service.analyzeService.store.AnalysisResultStorage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index groupId:artifactId -> (project -> usage) over the dependencies of all
+ * stored analysis results.
+ *
+ * Built from analyzed/* on first use, then kept current by SpringAnalyzerService, which
+ * calls update() for every saved result. Each artifact maps to an immutable snapshot
+ * that is replaced on change, so lookups are a single hash lookup without locking.
+ */
+@Component
+public class DependencyIndex {
+
+    @Autowired
+    private AnalysisResultStorage resultStorage;
+
+    private final Map<String, Map<String, DependencyUsage>> byArtifact = new ConcurrentHashMap<>();
+    // project -> artifact keys it contributes, to remove them on the next update
+    private final Map<String, Set<String>> byProject = new HashMap<>();
+    private volatile boolean loaded;
+
+    public ArtifactUsage lookup(String groupId, String artifactId) {
+        ensureLoaded();
+        Map<String, DependencyUsage> usages = byArtifact.getOrDefault(key(groupId, artifactId), Map.of());
+
+        ArtifactUsage result = new ArtifactUsage();
+        result.setGroupId(groupId);
+        result.setArtifactId(artifactId);
+        for (DependencyUsage usage : usages.values()) {
+            result.getProjects().add(usage);
+            result.getVersions().merge(String.valueOf(usage.getVersion()), 1, Integer::sum);
+        }
+        return result;
+    }
+
+    /**
+     * Replaces everything the project contributed with the dependencies of its new result.
+     */
+    public synchronized void update(String projectName, ProjectAnalysisResult result) {
+        ensureLoaded();
+        apply(projectName, result);
+    }
+
+    // Double-checked on the volatile flag: once loaded, lookups never take the lock
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (this) {
+            if (loaded) return;
+            resultStorage.forEachStored(this::apply);
+            loaded = true;
+        }
+    }
+
+    // Caller holds the lock
+    private void apply(String projectName, ProjectAnalysisResult result) {
+        Map<String, DependencyUsage> usages = new HashMap<>();
+        if (result != null) {
+            for (DependencyInfo dependency : result.getDependencies()) {
+                // First declaration wins if an artifact is listed twice (e.g. with a classifier)
+                usages.putIfAbsent(key(dependency.getGroupId(), dependency.getArtifactId()),
+                        new DependencyUsage(projectName, dependency.getVersion(), dependency.getScope()));
+            }
+        }
+
+        Set<String> previous = byProject.getOrDefault(projectName, Set.of());
+        for (String key : previous) {
+            if (!usages.containsKey(key)) replace(key, projectName, null);
+        }
+        usages.forEach((key, usage) -> replace(key, projectName, usage));
+
+        if (usages.isEmpty()) byProject.remove(projectName);
+        else byProject.put(projectName, new HashSet<>(usages.keySet()));
+    }
+
+    // Copy-on-write of one artifact's entry; readers keep seeing a consistent snapshot
+    private void replace(String key, String projectName, DependencyUsage usage) {
+        Map<String, DependencyUsage> current = byArtifact.getOrDefault(key, Map.of());
+        if (usage != null && usage.equals(current.get(projectName))) return;
+
+        Map<String, DependencyUsage> next = new TreeMap<>(current);
+        if (usage == null) next.remove(projectName);
+        else next.put(projectName, usage);
+
+        if (next.isEmpty()) byArtifact.remove(key);
+        else byArtifact.put(key, Collections.unmodifiableMap(next));
+    }
+
+    private static String key(String groupId, String artifactId) {
+        return groupId + ":" + artifactId;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.demo.service.analyzeService;
+
+import com.example.demo.model.analyzeModel.ApiEndpoint;
+import com.example.demo.model.analyzeModel.ProjectAnalysisResult;
+import com.example.demo.model.routeModel.RouteConflict;
+import com.example.demo.model.routeModel.RouteInfo;
+import com.example.demo.model.routeModel.RouteMatch;
+import com.example.demo.service.analyzeService.route.RouteTrie;
+import com.example.demo.service.analyzeService.store.AnalysisResultStorage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Global route table over the apiEndpoints of all stored analysis results, answering
+ * "which service and controller handles GET /api/users/42".
+ *
+ * Loaded from analyzed/* on first use and kept current by SpringAnalyzerService, like
+ * DependencyIndex. Routes include the project's server.servlet.context-path. Conflicts
+ * are computed on demand and cached until the next update.
+ */
+@Component
+public class RouteIndex {
+
+    @Autowired
+    private AnalysisResultStorage resultStorage;
+
+    private final RouteTrie trie = new RouteTrie();
+    // project -> its routes, for listing
+    private final Map<String, List<RouteInfo>> byProject = new TreeMap<>();
+    private List<RouteConflict> conflicts;
+    private boolean loaded;
+
+    public synchronized List<RouteMatch> match(String httpMethod, String path) {
+        ensureLoaded();
+        return trie.match(httpMethod == null ? null : httpMethod.toUpperCase(Locale.ROOT), path);
+    }
+
+    public synchronized List<RouteInfo> routes() {
+        ensureLoaded();
+        List<RouteInfo> routes = new ArrayList<>();
+        byProject.values().forEach(routes::addAll);
+        return routes;
+    }
+
+    public synchronized List<RouteConflict> conflicts() {
+        ensureLoaded();
+        if (conflicts == null) conflicts = trie.conflicts();
+        return conflicts;
+    }
+
+    /**
+     * Replaces the project's routes with the endpoints of its new result.
+     */
+    public synchronized void update(String projectName, ProjectAnalysisResult result) {
+        ensureLoaded();
+        apply(projectName, result);
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        resultStorage.forEachStored(this::apply);
+        loaded = true;
+    }
+
+    // Caller holds the lock
+    private void apply(String projectName, ProjectAnalysisResult result) {
+        if (byProject.remove(projectName) != null) trie.removeProject(projectName);
+        conflicts = null;
+        if (result == null || result.getApiEndpoints().isEmpty()) return;
+
+        String contextPath = contextPath(result.getConfiguration());
+        List<RouteInfo> routes = new ArrayList<>();
+        for (ApiEndpoint endpoint : result.getApiEndpoints()) {
+            if (endpoint.getPath() == null || endpoint.getHttpMethod() == null) continue;
+            RouteInfo route = new RouteInfo(projectName, endpoint.getController(),
+                    endpoint.getHttpMethod().toUpperCase(Locale.ROOT),
+                    join(contextPath, endpoint.getPath()), result.getProjectUrl());
+            try {
+                trie.add(route);
+            } catch (IllegalArgumentException e) {
+                // e.g. an invalid {name:regex}; one bad mapping must not hide every other route
+                System.err.println("Skipping route " + route.getHttpMethod() + " " + route.getPattern()
+                        + " of " + projectName + ": " + e.getMessage());
+                continue;
+            }
+            routes.add(route);
+        }
+        routes.sort(Comparator.comparing(RouteInfo::getPattern).thenComparing(RouteInfo::getHttpMethod));
+        byProject.put(projectName, routes);
+    }
+
+    private static String contextPath(Map<String, String> configuration) {
+        if (configuration == null) return "";
+        String contextPath = configuration.get("server.servlet.context-path");
+        if (contextPath == null) contextPath = configuration.get("spring.webflux.base-path");
+        return contextPath == null ? "" : contextPath.trim();
+    }
+
+    private static String join(String contextPath, String path) {
+        String joined = "/" + contextPath + "/" + path;
+        joined = joined.replaceAll("/{2,}", "/");
+        return joined.length() > 1 && joined.endsWith("/") ? joined.substring(0, joined.length() - 1) : joined;
+    }
+}
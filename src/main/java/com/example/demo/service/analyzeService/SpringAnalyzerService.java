@@ -1,13 +1,24 @@
 package com.example.demo.service.analyzeService;
 
 import com.example.demo.config.AppConfig;
-import com.example.demo.model.analyzeModel.ApiEndpoint;
+import com.example.demo.model.analyzeModel.AnalysisCacheStats;
+import com.example.demo.model.analyzeModel.ArtifactUsage;
 import com.example.demo.model.analyzeModel.DependencyInfo;
-import com.example.demo.model.analyzeModel.EntityInfo;
+import com.example.demo.model.analyzeModel.FileAnalysis;
+import com.example.demo.model.analyzeModel.ProfileConfiguration;
 import com.example.demo.model.analyzeModel.ProjectAnalysisResult;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.example.demo.model.routeModel.RouteConflict;
+import com.example.demo.model.routeModel.RouteInfo;
+import com.example.demo.model.routeModel.RouteMatch;
+import com.example.demo.service.ResourceVersionService;
+import com.example.demo.service.analyzeService.config.ProjectConfig;
+import com.example.demo.service.analyzeService.config.ProjectConfigLoader;
+import com.example.demo.service.analyzeService.engine.AnalysisProgress;
+import com.example.demo.service.analyzeService.pom.EffectivePom;
+import com.example.demo.service.analyzeService.pom.PomDependency;
+import com.example.demo.service.analyzeService.pom.PomResolver;
+import com.example.demo.service.analyzeService.scanner.ProjectSourceScanner;
+import com.example.demo.service.analyzeService.store.AnalysisResultStorage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -15,8 +26,8 @@ import java.io.*;
 import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.regex.*;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class SpringAnalyzerService {
@@ -24,16 +35,58 @@ public class SpringAnalyzerService {
     @Autowired
     private AppConfig appConfig;
 
-    private static final Path ANALYSIS_DIR = Paths.get("analyzed");
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    @Autowired
+    private ProjectSourceScanner sourceScanner;
+
+    @Autowired
+    private AnalysisResultCache resultCache;
+
+    @Autowired
+    private AnalysisResultStorage resultStorage;
+
+    @Autowired
+    private PomResolver pomResolver;
+
+    @Autowired
+    private ProjectConfigLoader configLoader;
+
+    @Autowired
+    private DependencyIndex dependencyIndex;
+
+    @Autowired
+    private RouteIndex routeIndex;
 
-    private final ObjectMapper objectMapper = new ObjectMapper()
-            .registerModule(new JavaTimeModule())
-            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    public static final Path ANALYSIS_DIR = Paths.get("analyzed");
+
+    // One analysis per project at a time (jobs, bulk runs and direct calls alike):
+    // they all write the same analyzed/<project>/ files
+    private final Map<String, ReentrantLock> projectLocks = new ConcurrentHashMap<>();
 
     // -----------------------------------------------------------------
     // AUTO-DETECTION + ANALYSIS ENTRY
     // -----------------------------------------------------------------
     public ProjectAnalysisResult analyzeProject(String projectName) {
+        return analyzeProject(projectName, AnalysisProgress.NONE);
+    }
+
+    public ProjectAnalysisResult analyzeProject(String projectName, AnalysisProgress progress) {
+        ReentrantLock lock = projectLocks.computeIfAbsent(projectName, k -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            System.out.println("Analysis of " + projectName + " waits for the one already running.");
+            progress.phase("waiting");
+            lock.lock();
+        }
+        try {
+            return analyzeLocked(projectName, progress);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ProjectAnalysisResult analyzeLocked(String projectName, AnalysisProgress progress) {
         ProjectAnalysisResult result = new ProjectAnalysisResult();
         result.setProjectName(projectName);
         result.setAnalyzedAt(LocalDateTime.now());
@@ -47,8 +100,17 @@ public class SpringAnalyzerService {
         }
 
         try {
-            // --- Step 1: Auto-detect project type ---
-            boolean isSpring = detectSpringProject(projectPath);
+            // --- Step 1: Effective pom (parents, properties, managed versions; cached) ---
+            Path pom = projectPath.resolve("pom.xml");
+            boolean hasPom = Files.exists(pom);
+            EffectivePom effectivePom = hasPom ? readEffectivePom(pom) : null;
+
+            // --- Step 2: Single walk over the sources, all visitors per file ---
+            List<FileAnalysis> files = hasPom ? sourceScanner.scan(projectName, projectPath, progress) : List.of();
+
+            // --- Step 3: Auto-detect project type ---
+            boolean isSpring = hasPom && (isSpringBoot(effectivePom)
+                    || files.stream().anyMatch(FileAnalysis::isSpringMarker));
 
             if (!isSpring) {
                 result.setType("unsupported");
@@ -57,28 +119,26 @@ public class SpringAnalyzerService {
                 return result;
             }
 
-            // --- Step 2: Run full Spring analysis ---
+            // --- Step 4: Merge per-file findings ---
             result.setType("spring");
-            result.setApiEndpoints(scanControllers(projectPath));
-            result.setEntities(scanEntities(projectPath));
-            result.setDependencies(readPomDependencies(projectPath));
+            files.forEach(file -> {
+                result.getApiEndpoints().addAll(file.getApiEndpoints());
+                result.getEntities().addAll(file.getEntities());
+            });
+            result.setDependencies(toDependencyInfos(effectivePom));
 
-            // 1. Get the configuration map
-            Map<String, String> config = readApplicationProperties(projectPath);
-            result.setConfiguration(config);
+            progress.phase("config");
 
-            // 2. Build and set the projectUrl from the config
-            String port = config.getOrDefault("server.port", "8080");
-            String contextPath = config.getOrDefault("server.servlet.context-path", "");
+            // 1. All config files once (cached); the stored configuration is what runs by default
+            ProjectConfig config = readConfig(projectPath);
+            Map<String, String> defaults = config.resolve(config.getDefaultProfiles());
+            result.setConfiguration(defaults);
 
-            // 3. Set the final URL (with path normalization)
-            if (!contextPath.isBlank() && !contextPath.startsWith("/")) {
-                contextPath = "/" + contextPath;
-            }
-            if (contextPath.endsWith("/")) {
-                contextPath = contextPath.substring(0, contextPath.length() - 1);
+            // 2. The projectUrl from that configuration, plus one per known profile
+            result.setProjectUrl(projectUrl(defaults));
+            for (String profile : config.getProfiles()) {
+                result.getProfileUrls().put(profile, projectUrl(config.resolve(List.of(profile))));
             }
-            result.setProjectUrl("http://localhost:" + port + contextPath);
 
             saveResult(projectName, result);
 
@@ -94,145 +154,91 @@ public class SpringAnalyzerService {
     // GET EXISTING RESULT
     // -----------------------------------------------------------------
     public ProjectAnalysisResult getAnalysis(String projectName) {
-        Path resultPath = ANALYSIS_DIR.resolve(projectName).resolve("analysis.json");
-        if (!Files.exists(resultPath)) return null;
+        return resultCache.get(projectName, this::readResult);
+    }
 
-        try {
-            return objectMapper.readValue(resultPath.toFile(), ProjectAnalysisResult.class);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to read analysis result", e);
-        }
+    public AnalysisCacheStats getCacheStats() {
+        return resultCache.getStats();
+    }
+
+    /**
+     * Projects (from their stored results) that depend on groupId:artifactId, with versions.
+     */
+    public ArtifactUsage getDependencyUsage(String groupId, String artifactId) {
+        return dependencyIndex.lookup(groupId, artifactId);
     }
 
     // -----------------------------------------------------------------
-    // AUTO-DETECT PROJECT TYPE
+    // ROUTES ACROSS PROJECTS
     // -----------------------------------------------------------------
-    private boolean detectSpringProject(Path projectPath) {
-        Path pom = projectPath.resolve("pom.xml");
-        if (!Files.exists(pom)) return false;
 
-        try {
-            String pomContent = Files.readString(pom);
-            if (pomContent.contains("spring-boot-starter")) return true;
-
-            try (Stream<Path> stream = Files.walk(projectPath)) {
-                return stream
-                        .filter(p -> p.toString().endsWith(".java"))
-                        .anyMatch(file -> {
-                            try {
-                                String content = Files.readString(file);
-                                return content.contains("@SpringBootApplication")
-                                        || content.contains("@RestController")
-                                        || content.contains("SpringApplication.run");
-                            } catch (IOException ignored) {
-                                return false;
-                            }
-                        });
-            }
+    public List<RouteInfo> getRoutes() {
+        return routeIndex.routes();
+    }
 
-        } catch (IOException e) {
-            System.err.println("Spring detection failed: " + e.getMessage());
-            return false;
-        }
+    /**
+     * Stored routes matching the request (method null = any), most specific first.
+     */
+    public List<RouteMatch> matchRoute(String httpMethod, String path) {
+        return routeIndex.match(httpMethod, path);
     }
 
-    // -----------------------------------------------------------------
-    // CONTROLLER SCAN
-    // -----------------------------------------------------------------
-    private List<ApiEndpoint> scanControllers(Path projectPath) throws IOException {
-        List<ApiEndpoint> endpoints = new ArrayList<>();
-
-        try (Stream<Path> stream = Files.walk(projectPath)) {
-            stream.filter(p -> p.toString().endsWith(".java")).forEach(file -> {
-                try {
-                    List<String> lines = Files.readAllLines(file);
-                    String controllerClass = null;
-                    boolean isRestController = false;
-                    String basePath = "";
-
-                    for (String line : lines) {
-                        line = line.trim();
-
-                        if (line.contains("@RestController")) isRestController = true;
-                        if (line.startsWith("@RequestMapping(")) basePath = extractMappingValue(line);
-                        if (line.startsWith("public class ")) {
-                            String[] parts = line.split("\\s+");
-                            controllerClass = parts.length >= 3 ? parts[2] : "UnknownController";
-                        }
-
-                        if (isRestController && line.matches("@(Get|Post|Put|Delete)Mapping\\(.*\\)")) {
-                            String method = line.substring(1, line.indexOf("Mapping")).toUpperCase();
-                            String subPath = extractMappingValue(line);
-
-                            ApiEndpoint ep = new ApiEndpoint();
-                            ep.setHttpMethod(method);
-                            ep.setPath((basePath + "/" + subPath).replaceAll("//+", "/"));
-                            ep.setController(controllerClass);
-                            endpoints.add(ep);
-                        }
-                    }
-                } catch (IOException e) {
-                    System.err.println("Failed to parse controller: " + file);
-                }
-            });
-        }
+    public List<RouteConflict> getRouteConflicts() {
+        return routeIndex.conflicts();
+    }
 
-        return endpoints;
+    /**
+     * Writes the stored result as JSON (whatever the storage format).
+     * @return false if the project has no stored result.
+     */
+    public boolean exportAnalysisJson(String projectName, OutputStream out) throws IOException {
+        ProjectAnalysisResult result = getAnalysis(projectName);
+        if (result == null) return false;
+        resultStorage.exportJson(result, out);
+        return true;
     }
 
-    // -----------------------------------------------------------------
-    // ENTITY SCAN
-    // -----------------------------------------------------------------
-    private List<EntityInfo> scanEntities(Path projectPath) throws IOException {
-        List<EntityInfo> entities = new ArrayList<>();
-
-        try (Stream<Path> stream = Files.walk(projectPath)) {
-            stream.filter(p -> p.toString().endsWith(".java")).forEach(file -> {
-                try {
-                    List<String> lines = Files.readAllLines(file);
-                    boolean isEntity = lines.stream().anyMatch(l -> l.contains("@Entity"));
-                    if (!isEntity) return;
-
-                    EntityInfo entity = new EntityInfo();
-                    for (String line : lines) {
-                        line = line.trim();
-                        if (line.startsWith("public class ")) {
-                            String[] parts = line.split("\\s+");
-                            entity.setName(parts.length >= 3 ? parts[2] : "UnknownEntity");
-                        }
-                        if (line.contains("@Table(")) {
-                            entity.setTableName(extractMappingValue(line));
-                        }
-                    }
-                    entities.add(entity);
-                } catch (IOException e) {
-                    System.err.println("Failed to parse entity: " + file);
-                }
-            });
+    private ProjectAnalysisResult readResult(String projectName) {
+        try {
+            return resultStorage.load(projectName);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read analysis result", e);
         }
-
-        return entities;
     }
 
     // -----------------------------------------------------------------
     // DEPENDENCY SCAN
     // -----------------------------------------------------------------
-    private List<DependencyInfo> readPomDependencies(Path projectPath) throws IOException {
-        Path pom = projectPath.resolve("pom.xml");
-        List<DependencyInfo> deps = new ArrayList<>();
-        if (!Files.exists(pom)) return deps;
+    // A broken pom does not stop the source analysis; the Spring markers can still identify the project
+    private EffectivePom readEffectivePom(Path pom) {
+        try {
+            EffectivePom effectivePom = pomResolver.resolve(pom);
+            if (!effectivePom.getUnresolved().isEmpty()) {
+                System.out.println("Not found locally for " + pom + ": " + effectivePom.getUnresolved());
+            }
+            return effectivePom;
+        } catch (IOException e) {
+            System.err.println("Could not read " + pom + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean isSpringBoot(EffectivePom pom) {
+        if (pom == null) return false;
+        if (pom.inheritsFrom("org.springframework.boot", "spring-boot-starter-parent")) return true;
+        return pom.getDependencies().stream().anyMatch(d -> d.getArtifactId().startsWith("spring-boot-starter"));
+    }
 
-        String xml = Files.readString(pom);
-        Matcher matcher = Pattern.compile(
-                "<dependency>\\s*<groupId>(.*?)</groupId>\\s*<artifactId>(.*?)</artifactId>\\s*(<version>(.*?)</version>)?\\s*</dependency>",
-                Pattern.DOTALL
-        ).matcher(xml);
+    private List<DependencyInfo> toDependencyInfos(EffectivePom pom) {
+        List<DependencyInfo> deps = new ArrayList<>();
+        if (pom == null) return deps;
 
-        while (matcher.find()) {
+        for (PomDependency dependency : pom.getDependencies()) {
             DependencyInfo info = new DependencyInfo();
-            info.setGroupId(matcher.group(1));
-            info.setArtifactId(matcher.group(2));
-            info.setVersion(matcher.group(4));
+            info.setGroupId(dependency.getGroupId());
+            info.setArtifactId(dependency.getArtifactId());
+            info.setVersion(dependency.getVersion());
+            info.setScope(dependency.getScope());
             deps.add(info);
         }
 
@@ -242,42 +248,60 @@ public class SpringAnalyzerService {
     // -----------------------------------------------------------------
     // CONFIG SCAN (.properties / .yml)
     // -----------------------------------------------------------------
-    private Map<String, String> readApplicationProperties(Path projectPath) throws IOException {
-        Map<String, String> props = new LinkedHashMap<>();
-
-        Path propFile = projectPath.resolve("src/main/resources/application.properties");
-        Path ymlFile = projectPath.resolve("src/main/resources/application.yml");
-
-        Path fileToRead = Files.exists(propFile) ? propFile : (Files.exists(ymlFile) ? ymlFile : null);
-        if (fileToRead == null) return props;
-
-        Files.readAllLines(fileToRead).forEach(line -> {
-            line = line.trim();
-            if (line.startsWith("#") || line.isBlank()) return;
-            if (line.contains("=")) {
-                String[] parts = line.split("=", 2);
-                props.put(parts[0].trim(), parts[1].trim());
-            } else if (line.contains(": ")) {
-                String[] parts = line.split(": ", 2);
-                props.put(parts[0].trim(), parts[1].trim());
-            }
-        });
+    /**
+     * Effective configuration with the given profiles active; none = the project's
+     * spring.profiles.active. Served from the config cache, no analysis needed.
+     * @return null if the project does not exist.
+     */
+    public ProfileConfiguration getConfiguration(String projectName, List<String> profiles) throws IOException {
+        Path projectPath = appConfig.getBackendPath().resolve(projectName);
+        if (!Files.isDirectory(projectPath)) return null;
+
+        ProjectConfig config = configLoader.load(projectPath);
+        List<String> active = profiles.isEmpty() ? config.getDefaultProfiles() : profiles;
+        Map<String, String> properties = config.resolve(active);
 
-        return props;
+        ProfileConfiguration result = new ProfileConfiguration();
+        result.setProjectName(projectName);
+        result.setActiveProfiles(new ArrayList<>(active));
+        result.setAvailableProfiles(config.getProfiles());
+        result.setProperties(properties);
+        result.setProjectUrl(projectUrl(properties));
+        return result;
+    }
+
+    // Like a broken pom, a broken config file does not stop the analysis; the result then has no configuration
+    private ProjectConfig readConfig(Path projectPath) {
+        try {
+            return configLoader.load(projectPath);
+        } catch (IOException e) {
+            System.err.println("Could not read the configuration of " + projectPath + ": " + e.getMessage());
+            return new ProjectConfig();
+        }
+    }
+
+    private static String projectUrl(Map<String, String> config) {
+        String port = config.getOrDefault("server.port", "8080");
+        String contextPath = config.getOrDefault("server.servlet.context-path", "");
+
+        // Path normalization
+        if (!contextPath.isBlank() && !contextPath.startsWith("/")) {
+            contextPath = "/" + contextPath;
+        }
+        if (contextPath.endsWith("/")) {
+            contextPath = contextPath.substring(0, contextPath.length() - 1);
+        }
+        return "http://localhost:" + port + contextPath;
     }
 
     // -----------------------------------------------------------------
     // HELPERS
     // -----------------------------------------------------------------
-    private String extractMappingValue(String line) {
-        Matcher matcher = Pattern.compile("\\(\"(.*?)\"\\)").matcher(line);
-        return matcher.find() ? matcher.group(1) : "";
-    }
-
     private void saveResult(String projectName, ProjectAnalysisResult result) throws IOException {
-        Path outDir = ANALYSIS_DIR.resolve(projectName);
-        Files.createDirectories(outDir);
-        objectMapper.writerWithDefaultPrettyPrinter()
-                .writeValue(outDir.resolve("analysis.json").toFile(), result);
+        resultStorage.save(projectName, result);
+        resultCache.put(projectName, result);
+        dependencyIndex.update(projectName, result);
+        routeIndex.update(projectName, result);
+        resourceVersionService.bump(ResourceVersionService.analysisKey(projectName));
     }
 }
\ No newline at end of file
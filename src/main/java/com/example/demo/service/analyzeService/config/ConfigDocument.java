@@ -0,0 +1,21 @@
+package com.example.demo.service.analyzeService.config;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One document of a config file (a .yml can hold several, separated by "---"; a
+ * .properties file by "#---"), with its keys flattened to Spring's dotted form.
+ */
+@Data
+public class ConfigDocument {
+    // e.g. "application-dev.yml"
+    private final String source;
+    // Profile of an application-{profile}.* file, null for application.*
+    private final String fileProfile;
+    // spring.config.activate.on-profile (or legacy spring.profiles) of the document, null if unconditional
+    private final String onProfile;
+    private final Map<String, String> properties = new LinkedHashMap<>();
+}
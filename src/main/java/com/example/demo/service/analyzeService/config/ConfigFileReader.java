@@ -0,0 +1,90 @@
+package com.example.demo.service.analyzeService.config;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Reads application*.properties / application*.yml into ConfigDocuments, the way Spring
+ * Boot sees them: nested YAML maps become dotted keys, lists become key[0], key[1], ...
+ */
+public final class ConfigFileReader {
+
+    private ConfigFileReader() {
+    }
+
+    public static List<ConfigDocument> read(Path file, String fileProfile) throws IOException {
+        String name = file.getFileName().toString();
+        List<ConfigDocument> documents = new ArrayList<>();
+
+        if (name.endsWith(".properties")) {
+            // Multi-document .properties files (Boot 2.4+) separate documents with a "#---" or "!---" line
+            for (String part : Files.readString(file).split("(?m)^[#!]---\\s*$")) {
+                Map<String, String> values = new LinkedHashMap<>();
+                // Properties handles escapes and line continuations; the override keeps file order
+                Properties properties = new Properties() {
+                    @Override
+                    public synchronized Object put(Object key, Object value) {
+                        values.put((String) key, (String) value);
+                        return super.put(key, value);
+                    }
+                };
+                try {
+                    properties.load(new StringReader(part));
+                } catch (IllegalArgumentException e) {
+                    // Malformed unicode escape
+                    throw new IOException("Invalid properties in " + file + ": " + e.getMessage(), e);
+                }
+                documents.add(document(name, fileProfile, values));
+            }
+        } else {
+            Yaml yaml = new Yaml(new SafeConstructor(new LoaderOptions()));
+            try (Reader reader = Files.newBufferedReader(file)) {
+                // loadAll streams the documents one by one
+                for (Object root : yaml.loadAll(reader)) {
+                    Map<String, String> values = new LinkedHashMap<>();
+                    flatten("", root, values);
+                    documents.add(document(name, fileProfile, values));
+                }
+            } catch (RuntimeException e) {
+                // SnakeYAML reports syntax errors unchecked
+                throw new IOException("Invalid YAML in " + file + ": " + e.getMessage(), e);
+            }
+        }
+        return documents;
+    }
+
+    private static ConfigDocument document(String source, String fileProfile, Map<String, String> values) {
+        String onProfile = values.get("spring.config.activate.on-profile");
+        if (onProfile == null) onProfile = values.get("spring.profiles");
+        ConfigDocument document = new ConfigDocument(source, fileProfile, onProfile);
+        document.getProperties().putAll(values);
+        return document;
+    }
+
+    private static void flatten(String prefix, Object value, Map<String, String> out) {
+        if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                String key = String.valueOf(entry.getKey());
+                flatten(prefix.isEmpty() ? key : prefix + "." + key, entry.getValue(), out);
+            }
+        } else if (value instanceof List<?> list) {
+            for (int i = 0; i < list.size(); i++) {
+                flatten(prefix + "[" + i + "]", list.get(i), out);
+            }
+        } else if (!prefix.isEmpty()) {
+            out.put(prefix, value == null ? "" : String.valueOf(value));
+        }
+    }
+}
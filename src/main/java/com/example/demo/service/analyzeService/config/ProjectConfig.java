@@ -0,0 +1,105 @@
+package com.example.demo.service.analyzeService.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * All config documents of one project, from which the effective key map of any set of
+ * active profiles is computed in memory. Read-only once built by ProjectConfigLoader.
+ */
+public class ProjectConfig {
+
+    // application.* documents, in override order (.yml before .properties, root before config/)
+    private final List<ConfigDocument> baseDocuments = new ArrayList<>();
+    // application-{profile}.* documents, in override order
+    private final List<ConfigDocument> profileDocuments = new ArrayList<>();
+
+    void add(ConfigDocument document) {
+        if (document.getFileProfile() == null) baseDocuments.add(document);
+        else profileDocuments.add(document);
+    }
+
+    /**
+     * Every profile the config mentions: application-{profile}.* files and on-profile conditions.
+     */
+    public List<String> getProfiles() {
+        TreeSet<String> profiles = new TreeSet<>();
+        for (ConfigDocument document : profileDocuments) profiles.add(document.getFileProfile());
+        for (ConfigDocument document : allDocuments()) {
+            if (document.getOnProfile() == null) continue;
+            for (String name : document.getOnProfile().split("[,|&()!\\s]+")) {
+                if (!name.isBlank()) profiles.add(name);
+            }
+        }
+        return new ArrayList<>(profiles);
+    }
+
+    /**
+     * Profiles active when none are given on the command line (spring.profiles.active).
+     */
+    public List<String> getDefaultProfiles() {
+        String active = null;
+        for (ConfigDocument document : baseDocuments) {
+            if (document.getOnProfile() == null) {
+                active = document.getProperties().getOrDefault("spring.profiles.active", active);
+            }
+        }
+        return splitProfiles(active);
+    }
+
+    /**
+     * Effective keys with the given profiles active (Spring's "default" profile if empty):
+     * application.* first, then application-{profile}.* in profile order, later values winning.
+     */
+    public Map<String, String> resolve(List<String> profiles) {
+        List<String> active = profiles.isEmpty() ? List.of("default") : profiles;
+        Map<String, String> result = new LinkedHashMap<>();
+        for (ConfigDocument document : baseDocuments) {
+            if (applies(document, active)) result.putAll(document.getProperties());
+        }
+        for (String profile : active) {
+            for (ConfigDocument document : profileDocuments) {
+                if (profile.equals(document.getFileProfile()) && applies(document, active)) {
+                    result.putAll(document.getProperties());
+                }
+            }
+        }
+        return result;
+    }
+
+    public static List<String> splitProfiles(String value) {
+        if (value == null || value.isBlank()) return List.of();
+        return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+
+    private List<ConfigDocument> allDocuments() {
+        List<ConfigDocument> all = new ArrayList<>(baseDocuments);
+        all.addAll(profileDocuments);
+        return all;
+    }
+
+    // Profile expressions: "a, b" and "a | b" (any), "a & b" (all), "!a" (not); no nested parentheses
+    private static boolean applies(ConfigDocument document, List<String> active) {
+        String expression = document.getOnProfile();
+        if (expression == null) return true;
+        for (String alternative : expression.split("[,|]")) {
+            boolean all = true;
+            for (String term : alternative.replace("(", "").replace(")", "").split("&")) {
+                term = term.trim();
+                boolean negated = term.startsWith("!");
+                if (negated) term = term.substring(1).trim();
+                if (term.isEmpty()) continue;
+                if (active.contains(term) == negated) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.service.analyzeService.config;
+
+import com.example.demo.service.analyzeService.engine.FileFingerprint;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Loads every application.* and application-{profile}.* file of a project
+ * (src/main/resources and src/main/resources/config; .properties, .yml, .yaml).
+ *
+ * Results are cached per project with the fingerprints of those files and of both
+ * directories (so added or deleted files are noticed); until one changes, lookups only
+ * stat the files.
+ */
+@Component
+public class ProjectConfigLoader {
+
+    // Lower precedence first: Spring Boot lets .properties override .yml
+    private static final List<String> EXTENSIONS = List.of(".yml", ".yaml", ".properties");
+
+    private final Map<Path, Entry> cache = new ConcurrentHashMap<>();
+
+    private record Entry(List<FileFingerprint> sources, ProjectConfig config) {
+    }
+
+    public ProjectConfig load(Path projectPath) throws IOException {
+        Path resources = projectPath.toAbsolutePath().normalize().resolve("src").resolve("main").resolve("resources");
+        Entry cached = cache.get(resources);
+        if (cached != null && FileFingerprint.allCurrent(cached.sources())) return cached.config();
+
+        List<FileFingerprint> sources = new ArrayList<>();
+        // Root first, then config/ (which overrides it); per location, base files before profile files
+        List<Path> locations = List.of(resources, resources.resolve("config"));
+        ProjectConfig config = new ProjectConfig();
+        List<ConfigDocument> profileDocuments = new ArrayList<>();
+        for (Path location : locations) {
+            sources.add(FileFingerprint.of(location));
+            for (Map.Entry<String, Path> file : configFiles(location).entrySet()) {
+                // Fingerprint before reading, so a change while reading invalidates the entry
+                sources.add(FileFingerprint.of(file.getValue()));
+                String profile = profileOf(file.getValue());
+                for (ConfigDocument document : ConfigFileReader.read(file.getValue(), profile)) {
+                    if (profile == null) config.add(document);
+                    else profileDocuments.add(document);
+                }
+            }
+        }
+        profileDocuments.forEach(config::add);
+
+        cache.put(resources, new Entry(sources, config));
+        return config;
+    }
+
+    // application*.{yml,yaml,properties} of one directory, keyed so that they sort in override order
+    private static Map<String, Path> configFiles(Path location) throws IOException {
+        Map<String, Path> files = new TreeMap<>();
+        if (!Files.isDirectory(location)) return files;
+        try (Stream<Path> list = Files.list(location)) {
+            list.filter(Files::isRegularFile).forEach(file -> {
+                String name = file.getFileName().toString();
+                if (!name.startsWith("application")) return;
+                for (int i = 0; i < EXTENSIONS.size(); i++) {
+                    String extension = EXTENSIONS.get(i);
+                    if (!name.endsWith(extension)) continue;
+                    String stem = name.substring(0, name.length() - extension.length());
+                    if (stem.equals("application") || stem.startsWith("application-")) {
+                        files.put(stem + "#" + i, file);
+                    }
+                }
+            });
+        }
+        return files;
+    }
+
+    // "application-dev.yml" -> "dev", "application.yml" -> null
+    private static String profileOf(Path file) {
+        String name = file.getFileName().toString();
+        String stem = name.substring(0, name.lastIndexOf('.'));
+        return stem.startsWith("application-") ? stem.substring("application-".length()) : null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.service.analyzeService.engine;
+
+/**
+ * Receives progress from a running analysis. Implementations must be thread-safe:
+ * fileProcessed() is called from the worker threads.
+ */
+public interface AnalysisProgress {
+
+    AnalysisProgress NONE = new AnalysisProgress() {
+        @Override
+        public void phase(String phase) {}
+
+        @Override
+        public void filesDiscovered(int count) {}
+
+        @Override
+        public void fileProcessed() {}
+    };
+
+    void phase(String phase);
+
+    void filesDiscovered(int count);
+
+    void fileProcessed();
+}
@@ -0,0 +1,35 @@
+package com.example.demo.service.analyzeService.engine;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+
+/**
+ * Size and mtime of a file or directory at some point; -1/-1 if it did not exist.
+ * Caches keep the fingerprints of everything they were built from and compare them on
+ * each lookup, which costs a stat per file instead of a read.
+ */
+public record FileFingerprint(Path path, long size, long lastModified) {
+
+    public static FileFingerprint of(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileFingerprint(path, attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            return new FileFingerprint(path, -1, -1);
+        }
+    }
+
+    public boolean isCurrent() {
+        return equals(of(path));
+    }
+
+    public static boolean allCurrent(Collection<FileFingerprint> fingerprints) {
+        for (FileFingerprint fingerprint : fingerprints) {
+            if (!fingerprint.isCurrent()) return false;
+        }
+        return true;
+    }
+}
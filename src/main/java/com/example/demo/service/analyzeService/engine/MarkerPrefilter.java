@@ -0,0 +1,94 @@
+package com.example.demo.service.analyzeService.engine;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Searches files for ASCII marker strings (e.g. "@RestController") at the byte level,
+ * without decoding them to a String. Files are streamed through a direct buffer that is
+ * reused per thread, so a scan allocates nothing per file; only files that match need
+ * to be decoded by the caller.
+ *
+ * A reused buffer is used instead of memory-mapping because a mapped file stays locked
+ * on Windows until the mapping is garbage collected.
+ */
+@Component
+public class MarkerPrefilter {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final ThreadLocal<ByteBuffer> buffers =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(CHUNK_SIZE));
+
+    public static byte[][] markers(Collection<String> markers) {
+        return markers.stream()
+                .map(marker -> marker.getBytes(StandardCharsets.US_ASCII))
+                .toArray(byte[][]::new);
+    }
+
+    public static byte[][] markers(String... markers) {
+        return markers(List.of(markers));
+    }
+
+    /**
+     * @param markers marker byte sequences; an empty array matches every file
+     * @param digest  if non-null, updated with the whole file content in the same pass
+     * @return true if the file contains at least one of the markers
+     */
+    public boolean containsAny(Path file, byte[][] markers, MessageDigest digest) throws IOException {
+        boolean found = markers.length == 0;
+        int overlap = 0;
+        for (byte[] marker : markers) overlap = Math.max(overlap, marker.length - 1);
+
+        ByteBuffer buffer = buffers.get();
+        int carry = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (true) {
+                buffer.limit(buffer.capacity()).position(carry);
+                while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                    // keep filling the chunk
+                }
+                boolean endOfFile = buffer.hasRemaining();
+                int end = buffer.position();
+
+                if (digest != null && end > carry) {
+                    digest.update(buffer.duplicate().position(carry).limit(end));
+                }
+                if (!found) {
+                    found = search(buffer, end, markers);
+                }
+                if (endOfFile || (found && digest == null)) break;
+
+                // Keep the tail so markers spanning two chunks are still seen
+                carry = Math.min(overlap, end);
+                for (int i = 0; i < carry; i++) {
+                    buffer.put(i, buffer.get(end - carry + i));
+                }
+            }
+        }
+        return found;
+    }
+
+    private static boolean search(ByteBuffer buffer, int end, byte[][] markers) {
+        for (int i = 0; i < end; i++) {
+            byte b = buffer.get(i);
+            for (byte[] marker : markers) {
+                if (marker[0] != b || i + marker.length > end) continue;
+                int j = 1;
+                while (j < marker.length && buffer.get(i + j) == marker[j]) j++;
+                if (j == marker.length) return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.service.analyzeService.engine;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared, bounded worker pool for per-file analysis work.
+ *
+ * Files are processed concurrently but results are always returned in input order,
+ * so callers merge them deterministically. JavaParser instances are per worker thread
+ * because StaticJavaParser shares one global configuration and is not thread-safe.
+ */
+@Component
+public class ParallelAnalysisEngine {
+
+    @FunctionalInterface
+    public interface FileTask<T> {
+        T apply(Path file) throws Exception;
+    }
+
+    private final int parallelism;
+    private final ExecutorService workers;
+
+    private final ThreadLocal<JavaParser> parsers =
+            ThreadLocal.withInitial(() -> new JavaParser(new ParserConfiguration()));
+
+    public ParallelAnalysisEngine(@Value("${app.analysis.parallelism:0}") int configuredParallelism) {
+        this.parallelism = configuredParallelism > 0
+                ? configuredParallelism
+                : Runtime.getRuntime().availableProcessors();
+
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "analysis-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Runs the task over every file on the worker pool and returns the non-null results
+     * in the same order as the input. A file whose task throws is logged and skipped.
+     */
+    public <T> List<T> map(List<Path> files, FileTask<T> task) {
+        return map(files, task, AnalysisProgress.NONE);
+    }
+
+    /**
+     * Same as {@link #map(List, FileTask)}, reporting each finished file to the progress listener.
+     */
+    public <T> List<T> map(List<Path> files, FileTask<T> task, AnalysisProgress progress) {
+        progress.filesDiscovered(files.size());
+        List<Future<T>> futures = new ArrayList<>(files.size());
+        for (Path file : files) {
+            futures.add(workers.submit(() -> {
+                try {
+                    return task.apply(file);
+                } finally {
+                    progress.fileProcessed();
+                }
+            }));
+        }
+
+        List<T> results = new ArrayList<>(files.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                T result = futures.get(i).get();
+                if (result != null) results.add(result);
+            } catch (ExecutionException e) {
+                System.err.println("Failed to analyze file: " + files.get(i) + " - " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new IllegalStateException("Analysis interrupted", e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Parses Java source with the calling thread's own JavaParser.
+     * Throws ParseProblemException on syntax errors, like StaticJavaParser.parse.
+     */
+    public CompilationUnit parse(String source) {
+        ParseResult<CompilationUnit> result = parsers.get().parse(source);
+        if (!result.isSuccessful() || result.getResult().isEmpty()) {
+            throw new ParseProblemException(result.getProblems());
+        }
+        return result.getResult().get();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.demo.service.analyzeService.engine;
+
+import com.github.javaparser.ParseProblemException;
+import com.github.javaparser.ast.CompilationUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Process-wide LRU cache of source files shared by all analyzers.
+ *
+ * Entries are keyed by absolute path and validated against the file's size + mtime,
+ * so each revision of a file is read once and parsed (lazily, on first AST request)
+ * at most once, however many analysis endpoints ask for it.
+ *
+ * The cache is bounded by the estimated heap its entries hold: the source text, plus
+ * the AST once a file has been parsed, which is far larger (AST_BYTES_PER_CHAR). An
+ * entry is re-weighed when it gets parsed, so a cache of mostly parsed files holds
+ * correspondingly fewer of them.
+ */
+@Component
+public class ParsedSourceCache {
+
+    @Autowired
+    private ParallelAnalysisEngine analysisEngine;
+
+    // Retained JavaParser CompilationUnit per source character; measured at 78-85 on this
+    // repository's and the demo projects' sources
+    static final long AST_BYTES_PER_CHAR = 80;
+
+    private final long maxBytes;
+
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Path, CachedSource> entries = new LinkedHashMap<>(256, 0.75f, true);
+    // Sum of the entries' weights
+    private long cachedBytes;
+
+    public ParsedSourceCache(@Value("${app.analysis.source-cache-mb:128}") long maxMegabytes) {
+        this.maxBytes = maxMegabytes * 1024 * 1024;
+    }
+
+    /**
+     * Returns the cached source for the file's current revision, reading it if needed.
+     */
+    public CachedSource get(Path file) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        BasicFileAttributes attrs = Files.readAttributes(key, BasicFileAttributes.class);
+        long size = attrs.size();
+        long lastModified = attrs.lastModifiedTime().toMillis();
+
+        synchronized (this) {
+            CachedSource cached = entries.get(key);
+            if (cached != null && cached.size == size && cached.lastModified == lastModified) {
+                return cached;
+            }
+        }
+
+        String content = new String(Files.readAllBytes(key), StandardCharsets.UTF_8);
+        CachedSource fresh = new CachedSource(key, size, lastModified, content);
+
+        synchronized (this) {
+            CachedSource replaced = entries.put(key, fresh);
+            if (replaced != null) cachedBytes -= replaced.weight;
+            // Strings take up to 2 bytes per char
+            fresh.weight = 2L * content.length();
+            cachedBytes += fresh.weight;
+            evictOverBudget(fresh);
+        }
+        return fresh;
+    }
+
+    // Called once an entry's AST exists; it is dropped with the entry
+    private synchronized void chargeAst(CachedSource source) {
+        if (entries.get(source.path) != source) return;
+        long ast = AST_BYTES_PER_CHAR * source.content.length();
+        source.weight += ast;
+        cachedBytes += ast;
+        evictOverBudget(source);
+    }
+
+    // Least recently used first; the entry just added or parsed is kept even if it alone exceeds the budget
+    private void evictOverBudget(CachedSource keep) {
+        Iterator<CachedSource> it = entries.values().iterator();
+        while (cachedBytes > maxBytes && it.hasNext()) {
+            CachedSource oldest = it.next();
+            if (oldest == keep) continue;
+            cachedBytes -= oldest.weight;
+            it.remove();
+        }
+    }
+
+    /**
+     * One revision of a source file. The AST is computed on first use.
+     */
+    public class CachedSource {
+        private final Path path;
+        private final long size;
+        private final long lastModified;
+        private final String content;
+
+        private CompilationUnit compilationUnit;
+        private ParseProblemException parseProblem;
+        // Estimated heap held by this entry; guarded by the cache, not by this object
+        private long weight;
+
+        private CachedSource(Path path, long size, long lastModified, String content) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.content = content;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public String getContent() {
+            return content;
+        }
+
+        /**
+         * Parsed AST of this revision; syntax errors are remembered and rethrown
+         * so a broken file is not re-parsed on every request.
+         */
+        public synchronized CompilationUnit getCompilationUnit() {
+            if (compilationUnit == null && parseProblem == null) {
+                try {
+                    compilationUnit = analysisEngine.parse(content);
+                    chargeAst(this);
+                } catch (ParseProblemException e) {
+                    parseProblem = e;
+                }
+            }
+            if (parseProblem != null) throw parseProblem;
+            return compilationUnit;
+        }
+    }
+}
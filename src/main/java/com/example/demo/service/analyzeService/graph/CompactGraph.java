@@ -0,0 +1,396 @@
+package com.example.demo.service.analyzeService.graph;
+
+import com.example.demo.model.graphModel.ArchitectureGraph;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, primitive-backed form of an architecture graph.
+ *
+ * Nodes are numbered 0..n-1 in insertion order; each node id string is stored once.
+ * Node types and edge relations are small symbol tables referenced by byte codes.
+ * Every edge is a single long (source | target | relation, see pack()), kept sorted
+ * and unique, so the array is at once the edge list, the de-duplication and the
+ * lookup index, and edges leaving a node are contiguous.
+ */
+public class CompactGraph {
+
+    // Bits per node number in a packed edge; the remaining 8 bits hold the relation code
+    private static final int NODE_BITS = 28;
+    private static final long NODE_MASK = (1L << NODE_BITS) - 1;
+    private static final int MAX_SYMBOLS = 256;
+
+    private final long version;
+    private final String[] nodeIds;
+    private final String[] nodeLabels;
+    private final byte[] nodeTypes;
+    private final String[] typeNames;
+    private final String[] relationNames;
+    private final long[] edges;
+    // Node numbers ordered by id, for binary-search lookups without a hash map
+    private final int[] nodesById;
+
+    private CompactGraph(Builder builder, long version) {
+        this.version = version;
+        this.nodeIds = Arrays.copyOf(builder.nodeIds, builder.nodeCount);
+        this.nodeLabels = Arrays.copyOf(builder.nodeLabels, builder.nodeCount);
+        this.nodeTypes = Arrays.copyOf(builder.nodeTypes, builder.nodeCount);
+        this.typeNames = builder.typeNames.toArray(new String[0]);
+        this.relationNames = builder.relationNames.toArray(new String[0]);
+        this.edges = sortedUnique(builder.edges, builder.edgeCount);
+
+        Integer[] order = new Integer[nodeIds.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> nodeIds[a].compareTo(nodeIds[b]));
+        this.nodesById = new int[order.length];
+        for (int i = 0; i < order.length; i++) nodesById[i] = order[i];
+    }
+
+    private CompactGraph(long version, String[] nodeIds, String[] nodeLabels, byte[] nodeTypes,
+                         String[] typeNames, String[] relationNames, long[] edges, int[] nodesById) {
+        this.version = version;
+        this.nodeIds = nodeIds;
+        this.nodeLabels = nodeLabels;
+        this.nodeTypes = nodeTypes;
+        this.typeNames = typeNames;
+        this.relationNames = relationNames;
+        this.edges = edges;
+        this.nodesById = nodesById;
+    }
+
+    public static CompactGraph empty(long version) {
+        return new Builder().build(version);
+    }
+
+    // -----------------------------------------------------------------
+    // ACCESS
+    // -----------------------------------------------------------------
+    public long getVersion() {
+        return version;
+    }
+
+    public int nodeCount() {
+        return nodeIds.length;
+    }
+
+    public int edgeCount() {
+        return edges.length;
+    }
+
+    public String nodeId(int node) {
+        return nodeIds[node];
+    }
+
+    public String nodeType(int node) {
+        return typeNames[nodeTypes[node] & 0xff];
+    }
+
+    public int edgeSource(int edge) {
+        return (int) (edges[edge] >>> (NODE_BITS + 8));
+    }
+
+    public int edgeTarget(int edge) {
+        return (int) ((edges[edge] >>> 8) & NODE_MASK);
+    }
+
+    public String edgeRelation(int edge) {
+        return relationNames[(int) (edges[edge] & 0xff)];
+    }
+
+    /**
+     * @return the node number for a class id, or -1 if the graph has no such node.
+     */
+    public int indexOf(String id) {
+        int low = 0;
+        int high = nodesById.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = nodeIds[nodesById[mid]].compareTo(id);
+            if (cmp < 0) low = mid + 1;
+            else if (cmp > 0) high = mid - 1;
+            else return nodesById[mid];
+        }
+        return -1;
+    }
+
+    /**
+     * First edge leaving the node; edges of one source are contiguous up to firstEdge(node + 1).
+     */
+    public int firstEdge(int node) {
+        int index = Arrays.binarySearch(edges, (long) node << (NODE_BITS + 8));
+        return index >= 0 ? index : -index - 1;
+    }
+
+    public boolean containsNode(ArchitectureGraph.Node node) {
+        int index = indexOf(node.getId());
+        return index >= 0 && node.equals(node(index));
+    }
+
+    public boolean containsEdge(ArchitectureGraph.Edge edge) {
+        int source = indexOf(edge.getSource());
+        int target = indexOf(edge.getTarget());
+        int relation = Arrays.asList(relationNames).indexOf(edge.getRelation());
+        if (source < 0 || target < 0 || relation < 0) return false;
+        return Arrays.binarySearch(edges, pack(source, target, relation)) >= 0;
+    }
+
+    public ArchitectureGraph.Node node(int node) {
+        return new ArchitectureGraph.Node(nodeIds[node], nodeLabels[node], nodeType(node));
+    }
+
+    public ArchitectureGraph.Edge edge(int edge) {
+        return new ArchitectureGraph.Edge(nodeIds[edgeSource(edge)], nodeIds[edgeTarget(edge)], edgeRelation(edge));
+    }
+
+    // -----------------------------------------------------------------
+    // OUTPUT
+    // -----------------------------------------------------------------
+
+    /**
+     * Expands into the object model (for callers that need a full ArchitectureGraph).
+     */
+    public ArchitectureGraph toArchitectureGraph() {
+        ArchitectureGraph graph = new ArchitectureGraph();
+        for (int i = 0; i < nodeIds.length; i++) graph.getNodes().add(node(i));
+        for (int e = 0; e < edges.length; e++) graph.getEdges().add(edge(e));
+        graph.setVersion(version);
+        return graph;
+    }
+
+    /**
+     * Writes the same JSON as a serialized ArchitectureGraph, straight from the arrays.
+     */
+    public void writeJson(JsonGenerator json) throws IOException {
+        json.writeStartObject();
+        json.writeArrayFieldStart("nodes");
+        for (int i = 0; i < nodeIds.length; i++) {
+            json.writeStartObject();
+            json.writeStringField("id", nodeIds[i]);
+            json.writeStringField("label", nodeLabels[i]);
+            json.writeStringField("type", nodeType(i));
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+
+        json.writeArrayFieldStart("edges");
+        for (int e = 0; e < edges.length; e++) {
+            json.writeStartObject();
+            json.writeStringField("source", nodeIds[edgeSource(e)]);
+            json.writeStringField("target", nodeIds[edgeTarget(e)]);
+            json.writeStringField("relation", edgeRelation(e));
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+
+        json.writeNumberField("version", version);
+        json.writeEndObject();
+    }
+
+    // -----------------------------------------------------------------
+    // PATCHING
+    // -----------------------------------------------------------------
+
+    /**
+     * A new version with the given changes applied; this graph stays as it is.
+     *
+     * Surviving nodes keep their relative order, so the kept edges stay sorted and only
+     * the added ones are sorted and merged in: one pass over the arrays, no re-resolving
+     * of ids and no full sort. Edges touching a removed node are dropped.
+     *
+     * @param nodeChanges id -> new node (added, or replacing the node with that id), or null to remove it
+     */
+    public CompactGraph patch(Map<String, ArchitectureGraph.Node> nodeChanges,
+                              Collection<ArchitectureGraph.Edge> removedEdges,
+                              Collection<ArchitectureGraph.Edge> addedEdges, long newVersion) {
+        List<String> types = new ArrayList<>(Arrays.asList(typeNames));
+        List<String> relations = new ArrayList<>(Arrays.asList(relationNames));
+
+        // 1. Nodes: old number -> new number (-1 = removed), replacements in place, additions last
+        List<ArchitectureGraph.Node> added = new ArrayList<>();
+        for (Map.Entry<String, ArchitectureGraph.Node> change : nodeChanges.entrySet()) {
+            if (change.getValue() != null && indexOf(change.getKey()) < 0) added.add(change.getValue());
+        }
+        added.sort(Comparator.comparing(ArchitectureGraph.Node::getId));
+
+        int[] remap = new int[nodeIds.length];
+        int capacity = nodeIds.length + added.size();
+        String[] ids = new String[capacity];
+        String[] labels = new String[capacity];
+        byte[] typeCodes = new byte[capacity];
+        int count = 0;
+        for (int n = 0; n < nodeIds.length; n++) {
+            ArchitectureGraph.Node replacement = nodeChanges.get(nodeIds[n]);
+            if (replacement == null && nodeChanges.containsKey(nodeIds[n])) {
+                remap[n] = -1;
+                continue;
+            }
+            remap[n] = count;
+            ids[count] = nodeIds[n];
+            labels[count] = replacement == null ? nodeLabels[n] : label(replacement);
+            typeCodes[count] = replacement == null ? nodeTypes[n] : (byte) Builder.symbol(types, replacement.getType());
+            count++;
+        }
+        Map<String, Integer> addedNumbers = new HashMap<>();
+        for (ArchitectureGraph.Node node : added) {
+            if (count == (1 << NODE_BITS)) throw new IllegalStateException("Graph too large");
+            addedNumbers.put(node.getId(), count);
+            ids[count] = node.getId();
+            labels[count] = label(node);
+            typeCodes[count] = (byte) Builder.symbol(types, node.getType());
+            count++;
+        }
+
+        // 2. Edges: kept ones renumbered (order preserved), added ones sorted and merged in
+        long[] removed = new long[removedEdges.size()];
+        int removedCount = 0;
+        for (ArchitectureGraph.Edge edge : removedEdges) {
+            int source = indexOf(edge.getSource());
+            int target = indexOf(edge.getTarget());
+            int relation = relations.indexOf(edge.getRelation());
+            if (source >= 0 && target >= 0 && relation >= 0) removed[removedCount++] = pack(source, target, relation);
+        }
+        removed = Arrays.copyOf(removed, removedCount);
+        Arrays.sort(removed);
+
+        long[] kept = new long[edges.length];
+        int keptCount = 0;
+        for (long edge : edges) {
+            if (Arrays.binarySearch(removed, edge) >= 0) continue;
+            int source = remap[(int) (edge >>> (NODE_BITS + 8))];
+            int target = remap[(int) ((edge >>> 8) & NODE_MASK)];
+            if (source < 0 || target < 0) continue;
+            kept[keptCount++] = pack(source, target, (int) (edge & 0xff));
+        }
+
+        long[] fresh = new long[addedEdges.size()];
+        int freshCount = 0;
+        for (ArchitectureGraph.Edge edge : addedEdges) {
+            int source = newNumber(edge.getSource(), remap, addedNumbers);
+            int target = newNumber(edge.getTarget(), remap, addedNumbers);
+            if (source < 0 || target < 0) continue;
+            fresh[freshCount++] = pack(source, target, Builder.symbol(relations, edge.getRelation()));
+        }
+        fresh = sortedUnique(fresh, freshCount);
+
+        long[] merged = new long[keptCount + fresh.length];
+        int m = 0;
+        int k = 0;
+        int f = 0;
+        while (k < keptCount || f < fresh.length) {
+            long next = f == fresh.length || (k < keptCount && kept[k] <= fresh[f]) ? kept[k++] : fresh[f++];
+            if (m == 0 || merged[m - 1] != next) merged[m++] = next;
+        }
+
+        // 3. Id order: surviving nodes are still sorted, merge the (sorted) additions in
+        int[] byId = new int[count];
+        int b = 0;
+        int a = 0;
+        for (int old : nodesById) {
+            if (remap[old] < 0) continue;
+            while (a < added.size() && added.get(a).getId().compareTo(nodeIds[old]) < 0) {
+                byId[b++] = addedNumbers.get(added.get(a++).getId());
+            }
+            byId[b++] = remap[old];
+        }
+        while (a < added.size()) byId[b++] = addedNumbers.get(added.get(a++).getId());
+
+        return new CompactGraph(newVersion, Arrays.copyOf(ids, count), Arrays.copyOf(labels, count),
+                Arrays.copyOf(typeCodes, count), types.toArray(new String[0]), relations.toArray(new String[0]),
+                Arrays.copyOf(merged, m), byId);
+    }
+
+    private int newNumber(String id, int[] remap, Map<String, Integer> addedNumbers) {
+        int old = indexOf(id);
+        if (old >= 0) return remap[old];
+        Integer number = addedNumbers.get(id);
+        return number == null ? -1 : number;
+    }
+
+    // Labels are normally the id itself; share the instance then
+    private static String label(ArchitectureGraph.Node node) {
+        return node.getId().equals(node.getLabel()) ? node.getId() : node.getLabel();
+    }
+
+    // -----------------------------------------------------------------
+    // BUILDING
+    // -----------------------------------------------------------------
+    private static long pack(int source, int target, int relation) {
+        return ((long) source << (NODE_BITS + 8)) | ((long) target << 8) | relation;
+    }
+
+    private static long[] sortedUnique(long[] values, int count) {
+        long[] sorted = Arrays.copyOf(values, count);
+        Arrays.sort(sorted);
+        int unique = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) sorted[unique++] = sorted[i];
+        }
+        return Arrays.copyOf(sorted, unique);
+    }
+
+    public static class Builder {
+        // Only needed while building; dropped with the builder
+        private final Map<String, Integer> nodeNumbers = new HashMap<>();
+        private final List<String> typeNames = new ArrayList<>();
+        private final List<String> relationNames = new ArrayList<>();
+
+        private String[] nodeIds = new String[64];
+        private String[] nodeLabels = new String[64];
+        private byte[] nodeTypes = new byte[64];
+        private int nodeCount;
+
+        private long[] edges = new long[256];
+        private int edgeCount;
+
+        /**
+         * Adds a node; if the id is already present the first node is kept.
+         */
+        public void addNode(ArchitectureGraph.Node node) {
+            if (nodeNumbers.containsKey(node.getId())) return;
+            if (nodeCount == (1 << NODE_BITS)) throw new IllegalStateException("Graph too large");
+            if (nodeCount == nodeIds.length) {
+                nodeIds = Arrays.copyOf(nodeIds, nodeCount * 2);
+                nodeLabels = Arrays.copyOf(nodeLabels, nodeCount * 2);
+                nodeTypes = Arrays.copyOf(nodeTypes, nodeCount * 2);
+            }
+            nodeNumbers.put(node.getId(), nodeCount);
+            nodeIds[nodeCount] = node.getId();
+            nodeLabels[nodeCount] = label(node);
+            nodeTypes[nodeCount] = (byte) symbol(typeNames, node.getType());
+            nodeCount++;
+        }
+
+        /**
+         * Adds an edge between two added nodes; duplicates are removed in build().
+         * @return false if either end is not a node of this graph.
+         */
+        public boolean addEdge(ArchitectureGraph.Edge edge) {
+            Integer source = nodeNumbers.get(edge.getSource());
+            Integer target = nodeNumbers.get(edge.getTarget());
+            if (source == null || target == null) return false;
+            if (edgeCount == edges.length) edges = Arrays.copyOf(edges, edgeCount * 2);
+            edges[edgeCount++] = pack(source, target, symbol(relationNames, edge.getRelation()));
+            return true;
+        }
+
+        public CompactGraph build(long version) {
+            return new CompactGraph(this, version);
+        }
+
+        private static int symbol(List<String> table, String name) {
+            int index = table.indexOf(name);
+            if (index >= 0) return index;
+            if (table.size() == MAX_SYMBOLS) throw new IllegalStateException("Too many distinct names: " + name);
+            table.add(name);
+            return table.size() - 1;
+        }
+    }
+}
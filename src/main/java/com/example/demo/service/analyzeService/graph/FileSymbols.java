@@ -0,0 +1,19 @@
+package com.example.demo.service.analyzeService.graph;
+
+import com.example.demo.model.graphModel.ArchitectureGraph;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Declared classes of one file plus every field/extends reference they make,
+ * before knowing which targets belong to the project.
+ */
+@Data
+public class FileSymbols {
+    private final long size;
+    private final long lastModified;
+    private final List<ArchitectureGraph.Node> declarations = new ArrayList<>();
+    private final List<ArchitectureGraph.Edge> references = new ArrayList<>();
+}
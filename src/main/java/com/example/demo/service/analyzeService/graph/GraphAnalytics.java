@@ -0,0 +1,142 @@
+package com.example.demo.service.analyzeService.graph;
+
+import com.example.demo.model.graphModel.GraphMetrics;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cycle detection (Tarjan's strongly connected components), layer violations and
+ * fan-in/fan-out, all in O(V + E) over a GraphIndex.
+ *
+ * Tarjan runs iteratively with explicit stacks, so deep dependency chains can't
+ * overflow the thread stack.
+ */
+public final class GraphAnalytics {
+
+    // Layers from top to bottom; a node may only use nodes of its own layer or below
+    private static final Map<String, Integer> LAYER_RANKS = Map.of(
+            "CONTROLLER", 3,
+            "SERVICE", 2,
+            "REPOSITORY", 1,
+            "ENTITY", 0
+    );
+
+    private GraphAnalytics() {}
+
+    public static GraphMetrics analyze(GraphIndex index) {
+        CompactGraph graph = index.getGraph();
+        GraphMetrics metrics = new GraphMetrics();
+        metrics.setVersion(graph.getVersion());
+        metrics.setNodeCount(graph.nodeCount());
+        metrics.setEdgeCount(graph.edgeCount());
+
+        metrics.setCycles(findCycles(index));
+
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            int source = graph.edgeSource(e);
+            int target = graph.edgeTarget(e);
+            Integer sourceRank = LAYER_RANKS.get(graph.nodeType(source));
+            Integer targetRank = LAYER_RANKS.get(graph.nodeType(target));
+            if (sourceRank != null && targetRank != null && sourceRank < targetRank) {
+                metrics.getLayerViolations().add(new GraphMetrics.LayerViolation(
+                        graph.nodeId(source), graph.nodeType(source),
+                        graph.nodeId(target), graph.nodeType(target), graph.edgeRelation(e)));
+            }
+        }
+
+        for (int n = 0; n < graph.nodeCount(); n++) {
+            metrics.getNodes().add(new GraphMetrics.NodeMetrics(
+                    graph.nodeId(n), graph.nodeType(n), index.fanIn(n), index.fanOut(n)));
+        }
+        return metrics;
+    }
+
+    /**
+     * Strongly connected components that contain a cycle: more than one node, or a
+     * single node using itself.
+     */
+    private static List<List<String>> findCycles(GraphIndex index) {
+        CompactGraph graph = index.getGraph();
+        int nodes = graph.nodeCount();
+
+        int[] order = new int[nodes];       // discovery index + 1, 0 = not visited yet
+        int[] low = new int[nodes];
+        BitSet onStack = new BitSet(nodes);
+        int[] sccStack = new int[nodes];
+        int sccTop = 0;
+
+        // Explicit DFS call stack: node and the next outgoing edge to look at
+        int[] callNode = new int[nodes];
+        int[] callEdge = new int[nodes];
+        int counter = 0;
+
+        List<List<String>> cycles = new ArrayList<>();
+
+        for (int root = 0; root < nodes; root++) {
+            if (order[root] != 0) continue;
+
+            int depth = 0;
+            callNode[0] = root;
+            callEdge[0] = index.firstOut(root);
+            order[root] = low[root] = ++counter;
+            sccStack[sccTop++] = root;
+            onStack.set(root);
+
+            while (depth >= 0) {
+                int v = callNode[depth];
+                int e = callEdge[depth];
+
+                if (e < index.firstOut(v + 1)) {
+                    callEdge[depth]++;
+                    int w = graph.edgeTarget(e);
+                    if (order[w] == 0) {
+                        order[w] = low[w] = ++counter;
+                        sccStack[sccTop++] = w;
+                        onStack.set(w);
+                        depth++;
+                        callNode[depth] = w;
+                        callEdge[depth] = index.firstOut(w);
+                    } else if (onStack.get(w)) {
+                        low[v] = Math.min(low[v], order[w]);
+                    }
+                    continue;
+                }
+
+                // All edges of v done: v roots a component if nothing below reached higher
+                if (low[v] == order[v]) {
+                    List<String> component = new ArrayList<>();
+                    int w;
+                    do {
+                        w = sccStack[--sccTop];
+                        onStack.clear(w);
+                        component.add(graph.nodeId(w));
+                    } while (w != v);
+
+                    if (component.size() > 1 || hasSelfLoop(index, v)) {
+                        cycles.add(component);
+                    }
+                }
+                depth--;
+                if (depth >= 0) {
+                    int parent = callNode[depth];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+            }
+        }
+
+        cycles.sort(Comparator.comparingInt((List<String> c) -> c.size()).reversed());
+        return cycles;
+    }
+
+    private static boolean hasSelfLoop(GraphIndex index, int node) {
+        CompactGraph graph = index.getGraph();
+        for (int e = index.firstOut(node); e < index.firstOut(node + 1); e++) {
+            if (graph.edgeTarget(e) == node) return true;
+        }
+        return false;
+    }
+}
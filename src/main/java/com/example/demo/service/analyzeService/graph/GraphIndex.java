@@ -0,0 +1,209 @@
+package com.example.demo.service.analyzeService.graph;
+
+import com.example.demo.model.graphModel.ArchitectureGraph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Read-only adjacency index over one version of a CompactGraph, built once per version
+ * (see ProjectGraphState#getIndex) and shared by all queries on it.
+ *
+ * Outgoing edges come straight from the graph (its edges are sorted by source); incoming
+ * edges are an offsets + edge-number array pair sorted by target. Every query returns a
+ * self-contained subgraph: its nodes plus the edges among them.
+ */
+public class GraphIndex {
+
+    public enum Direction { OUT, IN, BOTH }
+
+    private final CompactGraph graph;
+    // Outgoing edges of node n: edge numbers outOffsets[n] .. outOffsets[n + 1] - 1
+    private final int[] outOffsets;
+    // Incoming edges of node n: inEdges[inOffsets[n]] .. inEdges[inOffsets[n + 1] - 1]
+    private final int[] inOffsets;
+    private final int[] inEdges;
+
+    public GraphIndex(CompactGraph graph) {
+        this.graph = graph;
+        int nodes = graph.nodeCount();
+        int edges = graph.edgeCount();
+
+        outOffsets = new int[nodes + 1];
+        for (int n = 0; n <= nodes; n++) outOffsets[n] = graph.firstEdge(n);
+
+        // Counting sort of edge numbers by target
+        inOffsets = new int[nodes + 1];
+        for (int e = 0; e < edges; e++) inOffsets[graph.edgeTarget(e) + 1]++;
+        for (int n = 0; n < nodes; n++) inOffsets[n + 1] += inOffsets[n];
+        inEdges = new int[edges];
+        int[] fill = Arrays.copyOf(inOffsets, nodes);
+        for (int e = 0; e < edges; e++) inEdges[fill[graph.edgeTarget(e)]++] = e;
+    }
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    // Outgoing edge numbers of a node are firstOut(node) .. firstOut(node + 1) - 1
+    public int firstOut(int node) {
+        return outOffsets[node];
+    }
+
+    /**
+     * Number of distinct classes the node uses. Several relations to the same class (a field
+     * and a call, say) count once: out-edges are sorted by target, so duplicates are adjacent.
+     */
+    public int fanOut(int node) {
+        int distinct = 0;
+        for (int e = outOffsets[node]; e < outOffsets[node + 1]; e++) {
+            if (e == outOffsets[node] || graph.edgeTarget(e) != graph.edgeTarget(e - 1)) distinct++;
+        }
+        return distinct;
+    }
+
+    /**
+     * Number of distinct classes using the node (in-edges are in edge order, i.e. by source).
+     */
+    public int fanIn(int node) {
+        int distinct = 0;
+        for (int k = inOffsets[node]; k < inOffsets[node + 1]; k++) {
+            if (k == inOffsets[node] || graph.edgeSource(inEdges[k]) != graph.edgeSource(inEdges[k - 1])) distinct++;
+        }
+        return distinct;
+    }
+
+    public boolean contains(String nodeId) {
+        return graph.indexOf(nodeId) >= 0;
+    }
+
+    /**
+     * Nodes within "hops" edges of the start node, optionally restricted to some types
+     * (the start node is always included; filtered-out nodes are not traversed).
+     */
+    public ArchitectureGraph neighborhood(String startId, int hops, Direction direction, Set<String> types) {
+        int start = graph.indexOf(startId);
+        BitSet visited = new BitSet(graph.nodeCount());
+        List<Integer> order = new ArrayList<>();
+        visited.set(start);
+        order.add(start);
+
+        int frontierStart = 0;
+        for (int hop = 0; hop < hops && frontierStart < order.size(); hop++) {
+            int frontierEnd = order.size();
+            for (int i = frontierStart; i < frontierEnd; i++) {
+                int node = order.get(i);
+                if (direction != Direction.IN) {
+                    for (int e = outOffsets[node]; e < outOffsets[node + 1]; e++) {
+                        visit(graph.edgeTarget(e), types, visited, order);
+                    }
+                }
+                if (direction != Direction.OUT) {
+                    for (int k = inOffsets[node]; k < inOffsets[node + 1]; k++) {
+                        visit(graph.edgeSource(inEdges[k]), types, visited, order);
+                    }
+                }
+            }
+            frontierStart = frontierEnd;
+        }
+        return subgraph(order, visited);
+    }
+
+    /**
+     * All nodes of the given types and the edges among them (nothing for an empty set).
+     */
+    public ArchitectureGraph filterByType(Set<String> types) {
+        BitSet selected = new BitSet(graph.nodeCount());
+        List<Integer> order = new ArrayList<>();
+        for (int n = 0; n < graph.nodeCount(); n++) {
+            if (types.contains(graph.nodeType(n))) {
+                selected.set(n);
+                order.add(n);
+            }
+        }
+        return subgraph(order, selected);
+    }
+
+    /**
+     * Shortest path (fewest edges, BFS) from one class to another. Returned nodes are in
+     * path order with only the edges along the path; empty if there is no path.
+     */
+    public ArchitectureGraph shortestPath(String fromId, String toId, boolean directed) {
+        int from = graph.indexOf(fromId);
+        int to = graph.indexOf(toId);
+
+        // Edge through which each node was first reached, -1 = not reached
+        int[] reachedBy = new int[graph.nodeCount()];
+        Arrays.fill(reachedBy, -1);
+        BitSet visited = new BitSet(graph.nodeCount());
+        int[] queue = new int[graph.nodeCount()];
+        int head = 0;
+        int tail = 0;
+        visited.set(from);
+        queue[tail++] = from;
+
+        while (head < tail && !visited.get(to)) {
+            int node = queue[head++];
+            for (int e = outOffsets[node]; e < outOffsets[node + 1]; e++) {
+                int next = graph.edgeTarget(e);
+                if (!visited.get(next)) {
+                    visited.set(next);
+                    reachedBy[next] = e;
+                    queue[tail++] = next;
+                }
+            }
+            if (directed) continue;
+            for (int k = inOffsets[node]; k < inOffsets[node + 1]; k++) {
+                int next = graph.edgeSource(inEdges[k]);
+                if (!visited.get(next)) {
+                    visited.set(next);
+                    reachedBy[next] = inEdges[k];
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        ArchitectureGraph path = new ArchitectureGraph();
+        path.setVersion(graph.getVersion());
+        if (!visited.get(to)) return path;
+
+        // Walk back from the target, then reverse into from -> to order
+        for (int node = to; ; ) {
+            path.getNodes().add(graph.node(node));
+            int edge = reachedBy[node];
+            if (node == from || edge < 0) break;
+            path.getEdges().add(graph.edge(edge));
+            node = graph.edgeSource(edge) == node ? graph.edgeTarget(edge) : graph.edgeSource(edge);
+        }
+        Collections.reverse(path.getNodes());
+        Collections.reverse(path.getEdges());
+        return path;
+    }
+
+    private void visit(int node, Set<String> types, BitSet visited, List<Integer> order) {
+        if (!visited.get(node) && matchesType(node, types)) {
+            visited.set(node);
+            order.add(node);
+        }
+    }
+
+    private ArchitectureGraph subgraph(List<Integer> nodes, BitSet members) {
+        ArchitectureGraph result = new ArchitectureGraph();
+        result.setVersion(graph.getVersion());
+        for (int node : nodes) {
+            result.getNodes().add(graph.node(node));
+            for (int e = outOffsets[node]; e < outOffsets[node + 1]; e++) {
+                if (members.get(graph.edgeTarget(e))) result.getEdges().add(graph.edge(e));
+            }
+        }
+        return result;
+    }
+
+    private boolean matchesType(int node, Set<String> types) {
+        return types == null || types.isEmpty() || types.contains(graph.nodeType(node));
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.demo.service.analyzeService.graph;
+
+import com.example.demo.model.graphModel.ArchitectureGraph;
+import com.example.demo.model.graphModel.GraphDiff;
+import com.example.demo.model.graphModel.GraphMetrics;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Cached architecture graph of one project, patched file by file.
+ *
+ * Keeps the symbols of every source file, the files declaring each class id and how
+ * often each reference is made. When files change only their symbols are replaced;
+ * edges of unchanged files are revisited only if a class at either end appeared or
+ * disappeared. The graph itself is held as a CompactGraph (duplicate nodes/edges
+ * removed), which is patched with each diff rather than rebuilt. Each change that
+ * alters the graph gets a new version and a GraphDiff, so clients can catch up from
+ * a recent version without downloading the full graph.
+ *
+ * Not thread-safe; ArchitectureGraphService synchronizes on the instance.
+ */
+public class ProjectGraphState {
+
+    // Diffs kept for /graph/diff; older "since" versions get a full reload
+    private static final int MAX_HISTORY = 50;
+
+    // Sorted by path so the graph lists come out in a stable order
+    private final TreeMap<Path, FileSymbols> files = new TreeMap<>();
+    // class id -> files declaring it (a simple name may be declared in several files)
+    private final Map<String, TreeSet<Path>> declaringFiles = new HashMap<>();
+    // reference -> number of times files make it, to know whether an edge survives a change
+    private final Map<ArchitectureGraph.Edge, Integer> referenceCounts = new HashMap<>();
+    private final Deque<GraphDiff> history = new ArrayDeque<>();
+    // Set by the first apply(); from then on every change is versioned and diffed
+    private boolean built;
+
+    // Versions start at the build time, so versions from before a restart are never reused
+    private long version = System.currentTimeMillis();
+    private CompactGraph graph = CompactGraph.empty(version);
+    // Built on first query of each graph version
+    private GraphIndex index;
+    private GraphMetrics metrics;
+
+    public CompactGraph getGraph() {
+        return graph;
+    }
+
+    public GraphIndex getIndex() {
+        if (index == null) index = new GraphIndex(graph);
+        return index;
+    }
+
+    public GraphMetrics getMetrics() {
+        if (metrics == null) metrics = GraphAnalytics.analyze(getIndex());
+        return metrics;
+    }
+
+    public FileSymbols getFile(Path path) {
+        return files.get(path);
+    }
+
+    public Set<Path> getFiles() {
+        return files.keySet();
+    }
+
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Replaces the symbols of changed/added files and drops removed files.
+     * @return the diff applied, or null if the graph did not change.
+     */
+    public GraphDiff apply(Map<Path, FileSymbols> changed, Collection<Path> removed) {
+        if (!built) {
+            // First build (even of an empty project): becomes the base version, nothing to diff against
+            files.putAll(changed);
+            changed.forEach(this::register);
+            graph = buildGraph(version);
+            index = null;
+            metrics = null;
+            built = true;
+            return null;
+        }
+
+        Map<Path, FileSymbols> oldSymbols = new HashMap<>();
+        for (Path path : removed) {
+            FileSymbols old = files.remove(path);
+            if (old != null) oldSymbols.put(path, old);
+        }
+        for (Map.Entry<Path, FileSymbols> entry : changed.entrySet()) {
+            FileSymbols old = files.put(entry.getKey(), entry.getValue());
+            if (old != null) oldSymbols.put(entry.getKey(), old);
+        }
+
+        // 1. Update declarations and reference counts, remembering which ids appeared or disappeared
+        Map<String, Boolean> wasDeclared = new HashMap<>();
+        for (Map.Entry<Path, FileSymbols> entry : oldSymbols.entrySet()) {
+            for (ArchitectureGraph.Node node : entry.getValue().getDeclarations()) {
+                wasDeclared.putIfAbsent(node.getId(), declaringFiles.containsKey(node.getId()));
+            }
+            unregister(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<Path, FileSymbols> entry : changed.entrySet()) {
+            for (ArchitectureGraph.Node node : entry.getValue().getDeclarations()) {
+                wasDeclared.putIfAbsent(node.getId(), declaringFiles.containsKey(node.getId()));
+            }
+            register(entry.getKey(), entry.getValue());
+        }
+        Set<String> flipped = new HashSet<>();
+        wasDeclared.forEach((id, before) -> {
+            if (before != declaringFiles.containsKey(id)) flipped.add(id);
+        });
+
+        // 2. Candidates: everything the changed files declare or reference...
+        Set<String> candidateNodes = new LinkedHashSet<>(wasDeclared.keySet());
+        Set<ArchitectureGraph.Edge> candidateEdges = new LinkedHashSet<>();
+        oldSymbols.values().forEach(symbols -> candidateEdges.addAll(symbols.getReferences()));
+        changed.values().forEach(symbols -> candidateEdges.addAll(symbols.getReferences()));
+
+        // 3. ...plus edges of unchanged files whose class at either end appeared or disappeared
+        if (!flipped.isEmpty()) {
+            for (Map.Entry<Path, FileSymbols> entry : files.entrySet()) {
+                if (changed.containsKey(entry.getKey())) continue;
+                for (ArchitectureGraph.Edge edge : entry.getValue().getReferences()) {
+                    if (flipped.contains(edge.getTarget()) || flipped.contains(edge.getSource())) candidateEdges.add(edge);
+                }
+            }
+        }
+
+        // 4. Keep only what actually differs between the two (de-duplicated) graphs,
+        //    e.g. a re-saved file or a second field of an already used type changes nothing
+        CompactGraph previous = graph;
+        GraphDiff diff = new GraphDiff();
+        Map<String, ArchitectureGraph.Node> nodeChanges = new HashMap<>();
+        for (String id : candidateNodes) {
+            int number = previous.indexOf(id);
+            ArchitectureGraph.Node before = number < 0 ? null : previous.node(number);
+            ArchitectureGraph.Node after = effectiveNode(id);
+            if (Objects.equals(before, after)) continue;
+            nodeChanges.put(id, after);
+            if (before != null) diff.getRemovedNodes().add(before);
+            if (after != null) diff.getAddedNodes().add(after);
+        }
+        for (ArchitectureGraph.Edge edge : candidateEdges) {
+            boolean before = previous.containsEdge(edge);
+            boolean after = isEffective(edge);
+            if (before && !after) diff.getRemovedEdges().add(edge);
+            if (after && !before) diff.getAddedEdges().add(edge);
+        }
+
+        boolean graphChanged = !diff.getAddedNodes().isEmpty() || !diff.getRemovedNodes().isEmpty()
+                || !diff.getAddedEdges().isEmpty() || !diff.getRemovedEdges().isEmpty();
+        if (!graphChanged) return null;
+
+        // 5. Patch the previous graph with the diff instead of rebuilding it from all files
+        diff.setFromVersion(version);
+        diff.setToVersion(++version);
+        history.addLast(diff);
+        if (history.size() > MAX_HISTORY) history.removeFirst();
+
+        graph = previous.patch(nodeChanges, diff.getRemovedEdges(), diff.getAddedEdges(), version);
+        index = null;
+        metrics = null;
+        return diff;
+    }
+
+    // Same node buildGraph() would keep for the id: the first declaration in path order, or null
+    private ArchitectureGraph.Node effectiveNode(String id) {
+        TreeSet<Path> declaring = declaringFiles.get(id);
+        if (declaring == null) return null;
+        for (ArchitectureGraph.Node node : files.get(declaring.first()).getDeclarations()) {
+            if (node.getId().equals(id)) return node;
+        }
+        return null;
+    }
+
+    // Same test as CompactGraph.Builder#addEdge: referenced by some file, both ends declared
+    private boolean isEffective(ArchitectureGraph.Edge edge) {
+        return referenceCounts.containsKey(edge)
+                && declaringFiles.containsKey(edge.getSource()) && declaringFiles.containsKey(edge.getTarget());
+    }
+
+    private void register(Path path, FileSymbols symbols) {
+        for (ArchitectureGraph.Node node : symbols.getDeclarations()) {
+            declaringFiles.computeIfAbsent(node.getId(), k -> new TreeSet<>()).add(path);
+        }
+        for (ArchitectureGraph.Edge edge : symbols.getReferences()) {
+            referenceCounts.merge(edge, 1, Integer::sum);
+        }
+    }
+
+    private void unregister(Path path, FileSymbols symbols) {
+        for (ArchitectureGraph.Node node : symbols.getDeclarations()) {
+            TreeSet<Path> declaring = declaringFiles.get(node.getId());
+            if (declaring != null && declaring.remove(path) && declaring.isEmpty()) declaringFiles.remove(node.getId());
+        }
+        for (ArchitectureGraph.Edge edge : symbols.getReferences()) {
+            referenceCounts.computeIfPresent(edge, (e, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    /**
+     * Net changes after the given version, merging the recorded diffs.
+     */
+    public GraphDiff diffSince(long since) {
+        GraphDiff result = new GraphDiff();
+        result.setFromVersion(since);
+        result.setToVersion(version);
+        if (since == version) return result;
+
+        // History is contiguous, so any version from its first entry up to now can be served
+        long oldest = history.isEmpty() ? version : history.peekFirst().getFromVersion();
+        if (since < oldest || since > version) {
+            result.setFullReloadRequired(true);
+            return result;
+        }
+
+        for (GraphDiff step : history) {
+            if (step.getFromVersion() < since) continue;
+            merge(result.getAddedNodes(), result.getRemovedNodes(), step.getAddedNodes(), step.getRemovedNodes());
+            merge(result.getAddedEdges(), result.getRemovedEdges(), step.getAddedEdges(), step.getRemovedEdges());
+        }
+        return result;
+    }
+
+    private CompactGraph buildGraph(long graphVersion) {
+        CompactGraph.Builder builder = new CompactGraph.Builder();
+        // All nodes first: references resolve only against classes declared in the project
+        for (FileSymbols symbols : files.values()) {
+            symbols.getDeclarations().forEach(builder::addNode);
+        }
+        for (FileSymbols symbols : files.values()) {
+            symbols.getReferences().forEach(builder::addEdge);
+        }
+        return builder.build(graphVersion);
+    }
+
+    // Applies a later step to an accumulated diff: an addition undoes an earlier removal and vice versa
+    private static <T> void merge(List<T> added, List<T> removed, List<T> stepAdded, List<T> stepRemoved) {
+        for (T item : stepRemoved) {
+            if (!added.remove(item)) removed.add(item);
+        }
+        for (T item : stepAdded) {
+            if (!removed.remove(item)) added.add(item);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.service.analyzeService.pom;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A pom after inheritance from its parents and import of managed BOMs, with ${...}
+ * resolved. Instances are shared through PomResolver's cache: treat as read-only.
+ */
+@Data
+public class EffectivePom {
+    private String groupId;
+    private String artifactId;
+    private String version;
+
+    // groupId:artifactId of every resolved ancestor, nearest first
+    private final List<String> parents = new ArrayList<>();
+    private final Map<String, String> properties = new LinkedHashMap<>();
+    // Inherited + own dependencies, versions and scopes filled in from dependencyManagement
+    private final List<PomDependency> dependencies = new ArrayList<>();
+    // Set when a parent or imported BOM could not be found locally; versions it manages stay null
+    private final List<String> unresolved = new ArrayList<>();
+
+    public boolean inheritsFrom(String groupId, String artifactId) {
+        return parents.contains(groupId + ":" + artifactId);
+    }
+}
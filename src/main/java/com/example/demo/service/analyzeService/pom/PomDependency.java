@@ -0,0 +1,37 @@
+package com.example.demo.service.analyzeService.pom;
+
+import lombok.Data;
+
+/**
+ * One &lt;dependency&gt; entry as written in a pom (values may still contain ${...}).
+ */
+@Data
+public class PomDependency {
+    private String groupId;
+    private String artifactId;
+    private String version;
+    private String type;
+    private String classifier;
+    private String scope;
+    private String optional;
+
+    /**
+     * Identity used by Maven to merge dependencies and to look up managed versions.
+     */
+    public String managementKey() {
+        return groupId + ":" + artifactId + ":" + (type == null ? "jar" : type)
+                + (classifier == null ? "" : ":" + classifier);
+    }
+
+    public PomDependency copy() {
+        PomDependency copy = new PomDependency();
+        copy.setGroupId(groupId);
+        copy.setArtifactId(artifactId);
+        copy.setVersion(version);
+        copy.setType(type);
+        copy.setClassifier(classifier);
+        copy.setScope(scope);
+        copy.setOptional(optional);
+        return copy;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.service.analyzeService.pom;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The parts of a single pom.xml the analyzers use, exactly as written (no inheritance,
+ * no ${...} interpolation). Produced by PomReader.
+ */
+@Data
+public class PomModel {
+    private String groupId;
+    private String artifactId;
+    private String version;
+    private String packaging;
+
+    private String parentGroupId;
+    private String parentArtifactId;
+    private String parentVersion;
+    // null = not given (Maven default ../pom.xml), "" = <relativePath/> (repository only)
+    private String parentRelativePath;
+
+    private final Map<String, String> properties = new LinkedHashMap<>();
+    private final List<PomDependency> dependencies = new ArrayList<>();
+    private final List<PomDependency> managedDependencies = new ArrayList<>();
+
+    // Character offsets just after the project-level </dependencies> and </project>, -1 if absent
+    private int dependenciesEnd = -1;
+    private int projectEnd = -1;
+
+    public boolean hasParent() {
+        return parentArtifactId != null;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.demo.service.analyzeService.pom;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming (StAX) reader for pom.xml. Only the project-level elements the analyzers use
+ * are collected; everything else (build, plugins and their dependencies, profiles,
+ * exclusions, ...) is skipped without building a tree.
+ */
+public final class PomReader {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private PomReader() {
+    }
+
+    public static PomModel read(Path pomFile) throws IOException {
+        try (Reader reader = Files.newBufferedReader(pomFile)) {
+            return read(reader);
+        } catch (IOException e) {
+            throw new IOException("Invalid pom " + pomFile + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Offsets in the returned model (dependenciesEnd, projectEnd) are character offsets into the reader's text.
+     */
+    public static PomModel read(Reader reader) throws IOException {
+        PomModel model = new PomModel();
+        XMLStreamReader xml = null;
+        try {
+            xml = FACTORY.createXMLStreamReader(reader);
+            xml.nextTag(); // <project>
+            while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                switch (xml.getLocalName()) {
+                    case "groupId" -> model.setGroupId(text(xml));
+                    case "artifactId" -> model.setArtifactId(text(xml));
+                    case "version" -> model.setVersion(text(xml));
+                    case "packaging" -> model.setPackaging(text(xml));
+                    case "parent" -> readParent(xml, model);
+                    case "properties" -> readProperties(xml, model.getProperties());
+                    case "dependencies" -> {
+                        readDependencies(xml, model.getDependencies());
+                        model.setDependenciesEnd(xml.getLocation().getCharacterOffset());
+                    }
+                    case "dependencyManagement" -> {
+                        while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                            if (xml.getLocalName().equals("dependencies")) readDependencies(xml, model.getManagedDependencies());
+                            else skip(xml);
+                        }
+                    }
+                    default -> skip(xml);
+                }
+            }
+            model.setProjectEnd(xml.getLocation().getCharacterOffset());
+            return model;
+        } catch (XMLStreamException e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            if (xml != null) {
+                try {
+                    xml.close();
+                } catch (XMLStreamException ignored) {
+                }
+            }
+        }
+    }
+
+    // -----------------------------------------------------------------
+    // ELEMENTS
+    // -----------------------------------------------------------------
+    private static void readParent(XMLStreamReader xml, PomModel model) throws XMLStreamException {
+        while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (xml.getLocalName()) {
+                case "groupId" -> model.setParentGroupId(text(xml));
+                case "artifactId" -> model.setParentArtifactId(text(xml));
+                case "version" -> model.setParentVersion(text(xml));
+                case "relativePath" -> model.setParentRelativePath(text(xml));
+                default -> skip(xml);
+            }
+        }
+    }
+
+    private static void readProperties(XMLStreamReader xml, Map<String, String> properties) throws XMLStreamException {
+        while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            String name = xml.getLocalName();
+            properties.put(name, text(xml));
+        }
+    }
+
+    private static void readDependencies(XMLStreamReader xml, List<PomDependency> target) throws XMLStreamException {
+        while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (!xml.getLocalName().equals("dependency")) {
+                skip(xml);
+                continue;
+            }
+            PomDependency dependency = new PomDependency();
+            while (xml.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                switch (xml.getLocalName()) {
+                    case "groupId" -> dependency.setGroupId(text(xml));
+                    case "artifactId" -> dependency.setArtifactId(text(xml));
+                    case "version" -> dependency.setVersion(text(xml));
+                    case "type" -> dependency.setType(text(xml));
+                    case "classifier" -> dependency.setClassifier(text(xml));
+                    case "scope" -> dependency.setScope(text(xml));
+                    case "optional" -> dependency.setOptional(text(xml));
+                    default -> skip(xml); // exclusions, systemPath, ...
+                }
+            }
+            if (dependency.getGroupId() != null && dependency.getArtifactId() != null) target.add(dependency);
+        }
+    }
+
+    // -----------------------------------------------------------------
+    // HELPERS
+    // -----------------------------------------------------------------
+
+    // Text content of the current element (nested elements are ignored); leaves the reader on its end tag
+    private static String text(XMLStreamReader xml) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            switch (xml.next()) {
+                case XMLStreamConstants.START_ELEMENT -> depth++;
+                case XMLStreamConstants.END_ELEMENT -> depth--;
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                    if (depth == 1) text.append(xml.getText());
+                }
+                default -> {
+                }
+            }
+        }
+        return text.toString().trim();
+    }
+
+    // Skips the current element and its subtree; leaves the reader on its end tag
+    private static void skip(XMLStreamReader xml) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) depth++;
+            else if (event == XMLStreamConstants.END_ELEMENT) depth--;
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Project poms are untrusted input: no DTDs, no external entities
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
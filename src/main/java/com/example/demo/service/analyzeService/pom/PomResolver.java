@@ -0,0 +1,262 @@
+package com.example.demo.service.analyzeService.pom;
+
+import com.example.demo.service.analyzeService.engine.FileFingerprint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the EffectivePom of a pom.xml: parents (by relativePath, then the local Maven
+ * repository), properties, dependencyManagement and import-scoped BOMs, the way Maven
+ * merges them. Nothing is downloaded; a parent or BOM that is not on disk is reported
+ * in EffectivePom.unresolved and the versions it would manage stay null.
+ *
+ * Every resolved pom is cached together with the size/mtime of each file it was built
+ * from (including the places a parent was looked for and not found). A shared parent
+ * such as spring-boot-starter-parent is therefore parsed and resolved once for all
+ * projects, and a cached result is reused until one of its files changes.
+ */
+@Component
+public class PomResolver {
+
+    // Longest parent/import chain followed; also stops cycles early
+    private static final int MAX_DEPTH = 32;
+    private static final int MAX_INTERPOLATION_DEPTH = 10;
+
+    private final Path localRepository;
+
+    // Absolute pom path -> resolved pom, valid while all its sources are unchanged
+    private final Map<Path, Resolved> cache = new ConcurrentHashMap<>();
+
+    public PomResolver(@Value("${app.analysis.maven-repository:}") String localRepository) {
+        this.localRepository = localRepository.isBlank()
+                ? Paths.get(System.getProperty("user.home"), ".m2", "repository")
+                : Paths.get(localRepository);
+    }
+
+    public EffectivePom resolve(Path pomFile) throws IOException {
+        return resolve(pomFile.toAbsolutePath().normalize(), new ArrayDeque<>()).effective;
+    }
+
+    // -----------------------------------------------------------------
+    // RESOLUTION
+    // -----------------------------------------------------------------
+    private Resolved resolve(Path file, Deque<Path> chain) throws IOException {
+        Resolved cached = cache.get(file);
+        if (cached != null && cached.isCurrent()) return cached;
+
+        if (chain.contains(file) || chain.size() >= MAX_DEPTH) {
+            throw new IOException("Cyclic or too deep parent/import chain at " + file);
+        }
+        chain.push(file);
+        try {
+            Resolved resolved = build(file, chain);
+            cache.put(file, resolved);
+            return resolved;
+        } finally {
+            chain.pop();
+        }
+    }
+
+    private Resolved build(Path file, Deque<Path> chain) throws IOException {
+        Resolved r = new Resolved();
+        // Fingerprint before reading, so a change while reading invalidates the entry
+        r.sources.add(FileFingerprint.of(file));
+        PomModel model = PomReader.read(file);
+
+        // 1. Inherit from the parent
+        if (model.hasParent()) {
+            Resolved parent = findParent(file, model, r, chain);
+            if (parent != null) {
+                r.sources.addAll(parent.sources);
+                r.parents.add(model.getParentGroupId() + ":" + model.getParentArtifactId());
+                r.parents.addAll(parent.parents);
+                r.unresolved.addAll(parent.unresolved);
+                r.properties.putAll(parent.properties);
+                r.dependencies.putAll(parent.dependencies);
+                r.managed.putAll(parent.managed);
+            } else {
+                r.unresolved.add("parent " + model.getParentGroupId() + ":" + model.getParentArtifactId()
+                        + ":" + model.getParentVersion());
+            }
+        }
+
+        // 2. Own values override inherited ones (still uninterpolated: a child property
+        //    also changes the versions its parent manages, as in Maven)
+        r.groupId = model.getGroupId() != null ? model.getGroupId() : model.getParentGroupId();
+        r.artifactId = model.getArtifactId();
+        r.version = model.getVersion() != null ? model.getVersion() : model.getParentVersion();
+        r.parentVersion = model.getParentVersion();
+        r.properties.putAll(model.getProperties());
+        for (PomDependency dependency : model.getDependencies()) {
+            r.dependencies.put(dependency.managementKey(), dependency);
+        }
+        List<PomDependency> imports = new ArrayList<>();
+        for (PomDependency managed : model.getManagedDependencies()) {
+            if ("import".equals(managed.getScope()) && "pom".equals(managed.getType())) imports.add(managed);
+            else r.managed.put(managed.managementKey(), managed);
+        }
+
+        // 3. Imported BOMs only add entries that are not managed yet
+        for (PomDependency bom : imports) {
+            PomDependency coordinates = interpolate(bom, r);
+            Path bomFile = repositoryPom(coordinates.getGroupId(), coordinates.getArtifactId(), coordinates.getVersion());
+            if (bomFile != null) r.sources.add(FileFingerprint.of(bomFile));
+            if (bomFile == null || !Files.isRegularFile(bomFile)) {
+                r.unresolved.add("bom " + coordinates.getGroupId() + ":" + coordinates.getArtifactId()
+                        + ":" + coordinates.getVersion());
+                continue;
+            }
+            Resolved imported = resolve(bomFile, chain);
+            r.sources.addAll(imported.sources);
+            r.unresolved.addAll(imported.unresolved);
+            imported.effectiveManaged.forEach(r.managed::putIfAbsent);
+        }
+
+        r.effective = effective(r);
+        return r;
+    }
+
+    private Resolved findParent(Path file, PomModel model, Resolved r, Deque<Path> chain) throws IOException {
+        String relativePath = model.getParentRelativePath() == null ? "../pom.xml" : model.getParentRelativePath();
+        if (!relativePath.isBlank()) {
+            Path candidate = file.getParent().resolve(relativePath).normalize();
+            if (Files.isDirectory(candidate)) candidate = candidate.resolve("pom.xml");
+            r.sources.add(FileFingerprint.of(candidate));
+            if (Files.isRegularFile(candidate) && isParent(candidate, model)) return resolve(candidate, chain);
+        }
+
+        Path inRepository = repositoryPom(model.getParentGroupId(), model.getParentArtifactId(), model.getParentVersion());
+        if (inRepository == null) return null;
+        r.sources.add(FileFingerprint.of(inRepository));
+        return Files.isRegularFile(inRepository) ? resolve(inRepository, chain) : null;
+    }
+
+    // The pom at relativePath counts only if it is the declared parent (e.g. not an unrelated aggregator)
+    private static boolean isParent(Path candidate, PomModel child) {
+        try {
+            PomModel parent = PomReader.read(candidate);
+            String groupId = parent.getGroupId() != null ? parent.getGroupId() : parent.getParentGroupId();
+            return Objects.equals(child.getParentArtifactId(), parent.getArtifactId())
+                    && Objects.equals(child.getParentGroupId(), groupId);
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable parent candidate " + candidate + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // null if the coordinates are incomplete or still contain ${...}
+    private Path repositoryPom(String groupId, String artifactId, String version) {
+        if (groupId == null || artifactId == null || version == null) return null;
+        if ((groupId + artifactId + version).contains("${")) return null;
+        return localRepository.resolve(groupId.replace('.', '/')).resolve(artifactId).resolve(version)
+                .resolve(artifactId + "-" + version + ".pom");
+    }
+
+    // -----------------------------------------------------------------
+    // EFFECTIVE MODEL
+    // -----------------------------------------------------------------
+    private static EffectivePom effective(Resolved r) {
+        EffectivePom pom = new EffectivePom();
+        pom.setGroupId(interpolate(r.groupId, r, 0));
+        pom.setArtifactId(interpolate(r.artifactId, r, 0));
+        pom.setVersion(interpolate(r.version, r, 0));
+        pom.getParents().addAll(r.parents);
+        pom.getUnresolved().addAll(r.unresolved);
+        r.properties.forEach((name, value) -> pom.getProperties().put(name, interpolate(value, r, 0)));
+
+        for (PomDependency managed : r.managed.values()) {
+            PomDependency resolved = interpolate(managed, r);
+            r.effectiveManaged.put(resolved.managementKey(), resolved);
+        }
+        for (PomDependency declared : r.dependencies.values()) {
+            PomDependency dependency = interpolate(declared, r);
+            PomDependency managed = r.effectiveManaged.get(dependency.managementKey());
+            if (managed != null) {
+                if (dependency.getVersion() == null) dependency.setVersion(managed.getVersion());
+                if (dependency.getScope() == null) dependency.setScope(managed.getScope());
+                if (dependency.getOptional() == null) dependency.setOptional(managed.getOptional());
+            }
+            pom.getDependencies().add(dependency);
+        }
+        return pom;
+    }
+
+    private static PomDependency interpolate(PomDependency dependency, Resolved r) {
+        PomDependency copy = dependency.copy();
+        copy.setGroupId(interpolate(copy.getGroupId(), r, 0));
+        copy.setArtifactId(interpolate(copy.getArtifactId(), r, 0));
+        copy.setVersion(interpolate(copy.getVersion(), r, 0));
+        copy.setType(interpolate(copy.getType(), r, 0));
+        copy.setClassifier(interpolate(copy.getClassifier(), r, 0));
+        copy.setScope(interpolate(copy.getScope(), r, 0));
+        return copy;
+    }
+
+    // Replaces ${name} with project coordinates or properties; unknown names are kept as written
+    private static String interpolate(String value, Resolved r, int depth) {
+        if (value == null || depth > MAX_INTERPOLATION_DEPTH) return value;
+        int start = value.indexOf("${");
+        if (start < 0) return value;
+
+        StringBuilder result = new StringBuilder(value.length());
+        int from = 0;
+        while (start >= 0) {
+            int end = value.indexOf('}', start + 2);
+            if (end < 0) break;
+            String name = value.substring(start + 2, end);
+            String replacement = switch (name) {
+                case "project.groupId", "pom.groupId" -> r.groupId;
+                case "project.artifactId", "pom.artifactId" -> r.artifactId;
+                case "project.version", "pom.version", "version" -> r.version;
+                case "project.parent.version", "parent.version" -> r.parentVersion;
+                default -> r.properties.get(name);
+            };
+            result.append(value, from, start);
+            if (replacement != null) result.append(interpolate(replacement, r, depth + 1));
+            else result.append(value, start, end + 1);
+            from = end + 1;
+            start = value.indexOf("${", from);
+        }
+        result.append(value, from, value.length());
+        return result.toString();
+    }
+
+    // -----------------------------------------------------------------
+    // CACHE ENTRIES
+    // -----------------------------------------------------------------
+
+    // Merged, still uninterpolated state of a pom (what a child inherits) plus its effective model
+    private static final class Resolved {
+        final Set<FileFingerprint> sources = new LinkedHashSet<>();
+        final List<String> parents = new ArrayList<>();
+        final List<String> unresolved = new ArrayList<>();
+        final Map<String, String> properties = new LinkedHashMap<>();
+        final Map<String, PomDependency> dependencies = new LinkedHashMap<>();
+        final Map<String, PomDependency> managed = new LinkedHashMap<>();
+        final Map<String, PomDependency> effectiveManaged = new LinkedHashMap<>();
+        String groupId;
+        String artifactId;
+        String version;
+        String parentVersion;
+        EffectivePom effective;
+
+        boolean isCurrent() {
+            return FileFingerprint.allCurrent(sources);
+        }
+    }
+}
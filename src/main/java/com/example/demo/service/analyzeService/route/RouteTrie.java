@@ -0,0 +1,418 @@
+package com.example.demo.service.analyzeService.route;
+
+import com.example.demo.model.routeModel.RouteConflict;
+import com.example.demo.model.routeModel.RouteInfo;
+import com.example.demo.model.routeModel.RouteMatch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Route table of all services as a trie over path segments.
+ *
+ * Each node has literal children (hash lookup), variable children ({id}, {id:\d+}, *,
+ * or mixed segments such as {name}.json) and at most one catch-all child (** or {*rest}).
+ * Routes hang off the node of their last segment, per HTTP method. A lookup follows
+ * the request path one segment at a time, so its cost grows with the path length and
+ * only branches into variables where they actually match.
+ *
+ * Not thread-safe; RouteIndex synchronizes.
+ */
+public class RouteTrie {
+
+    private static final Pattern CATCH_ALL = Pattern.compile("\\{\\*(\\w+)}");
+
+    private enum Kind { CATCH_ALL, VARIABLE, PATTERN, LITERAL }   // least to most specific
+
+    /**
+     * One segment of a route pattern. key identifies equivalent segments ({id} and {userId} are the same).
+     */
+    private record Segment(Kind kind, String key, List<String> names, Pattern regex) {
+
+        /**
+         * @throws IllegalArgumentException for unbalanced braces or an invalid {name:regex}.
+         */
+        static Segment parse(String text) {
+            Matcher catchAll = CATCH_ALL.matcher(text);
+            if (text.equals("**") || catchAll.matches()) {
+                return new Segment(Kind.CATCH_ALL, "**", catchAll.matches() ? List.of(catchAll.group(1)) : List.of(), null);
+            }
+            if (text.equals("*")) return new Segment(Kind.VARIABLE, "{}", List.of(), null);
+
+            List<Part> parts = Part.split(text);
+            if (parts.stream().allMatch(Part::literal)) return new Segment(Kind.LITERAL, text, List.of(), null);
+            if (parts.size() == 1 && parts.get(0).isVariable()) {
+                Part variable = parts.get(0);
+                return new Segment(Kind.VARIABLE, variable.key(), List.of(variable.name()),
+                        variable.regex() == null ? null : Pattern.compile(variable.regex()));
+            }
+
+            // Mixed segment, e.g. {name}.{ext} or *.json
+            StringBuilder regex = new StringBuilder();
+            StringBuilder key = new StringBuilder();
+            List<String> names = new ArrayList<>();
+            for (Part part : parts) {
+                if (part.literal()) {
+                    regex.append(Pattern.quote(part.text()));
+                    key.append(part.text());
+                } else if (part.text().equals("*")) {
+                    regex.append("[^/]*");
+                    key.append("*");
+                } else if (part.text().equals("?")) {
+                    regex.append("[^/]");
+                    key.append("?");
+                } else {
+                    names.add(part.name());
+                    regex.append("(").append(part.regex() == null ? "[^/]+" : part.regex()).append(")");
+                    key.append(part.key());
+                }
+            }
+            return new Segment(Kind.PATTERN, key.toString(), names, Pattern.compile(regex.toString()));
+        }
+
+        boolean accepts(String value) {
+            if (kind == Kind.LITERAL) return key.equals(value);
+            return regex == null ? !value.isEmpty() : regex.matcher(value).matches();
+        }
+    }
+
+    /**
+     * Piece of a segment: literal text, a * or ? wildcard, or a {name} / {name:regex} variable.
+     */
+    private record Part(boolean literal, String text) {
+
+        // Braces inside a variable's regex nest ({id:[0-9]{2}}); a backslash escapes the next character
+        static List<Part> split(String segment) {
+            List<Part> parts = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+            for (int i = 0; i < segment.length(); i++) {
+                char c = segment.charAt(i);
+                if (c == '{') {
+                    int depth = 0;
+                    int end = i;
+                    for (; end < segment.length(); end++) {
+                        char d = segment.charAt(end);
+                        if (d == '\\') end++;
+                        else if (d == '{') depth++;
+                        else if (d == '}' && --depth == 0) break;
+                    }
+                    if (end >= segment.length()) throw new IllegalArgumentException("Unclosed '{' in " + segment);
+                    flush(literal, parts);
+                    parts.add(new Part(false, segment.substring(i, end + 1)));
+                    i = end;
+                } else if (c == '*' || c == '?') {
+                    flush(literal, parts);
+                    parts.add(new Part(false, String.valueOf(c)));
+                } else {
+                    literal.append(c);
+                }
+            }
+            flush(literal, parts);
+            return parts;
+        }
+
+        private static void flush(StringBuilder literal, List<Part> parts) {
+            if (literal.length() == 0) return;
+            parts.add(new Part(true, literal.toString()));
+            literal.setLength(0);
+        }
+
+        boolean isVariable() {
+            return !literal && text.startsWith("{");
+        }
+
+        String name() {
+            int colon = text.indexOf(':');
+            return text.substring(1, colon < 0 ? text.length() - 1 : colon);
+        }
+
+        String regex() {
+            int colon = text.indexOf(':');
+            return colon < 0 ? null : text.substring(colon + 1, text.length() - 1);
+        }
+
+        // {id} and {userId} are the same segment, {id:\d+} is a different one
+        String key() {
+            return regex() == null ? "{}" : "{:" + regex() + "}";
+        }
+    }
+
+    private record Route(int id, RouteInfo info, List<Segment> segments) {
+
+        // Spring's order: fewer catch-alls, then fewer variables, then more literal text
+        static final Comparator<Route> MOST_SPECIFIC_FIRST = Comparator
+                .comparingInt((Route r) -> r.count(Kind.CATCH_ALL))
+                .thenComparingInt(r -> r.count(Kind.VARIABLE) + r.count(Kind.PATTERN))
+                .thenComparing(Comparator.comparingInt(Route::literalLength).reversed());
+
+        int count(Kind kind) {
+            int count = 0;
+            for (Segment segment : segments) if (segment.kind() == kind) count++;
+            return count;
+        }
+
+        int literalLength() {
+            int length = 0;
+            for (Segment segment : segments) if (segment.kind() == Kind.LITERAL) length += segment.key().length();
+            return length;
+        }
+
+        String normalized() {
+            StringBuilder path = new StringBuilder();
+            for (Segment segment : segments) path.append('/').append(segment.key());
+            return path.length() == 0 ? "/" : path.toString();
+        }
+    }
+
+    private static final class Node {
+        final Map<String, Node> literals = new HashMap<>();
+        // Segment key -> child, for VARIABLE and PATTERN segments
+        final Map<String, Node> variables = new LinkedHashMap<>();
+        Node catchAll;
+        Segment segment;
+        // HTTP method -> routes ending here
+        final Map<String, List<Route>> routes = new HashMap<>();
+
+        boolean isEmpty() {
+            return literals.isEmpty() && variables.isEmpty() && catchAll == null && routes.isEmpty();
+        }
+    }
+
+    private final Node root = new Node();
+    private int nextId;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    // -----------------------------------------------------------------
+    // BUILD
+    // -----------------------------------------------------------------
+    public void add(RouteInfo info) {
+        List<Segment> segments = new ArrayList<>();
+        for (String part : split(info.getPattern())) segments.add(Segment.parse(part));
+
+        Node node = root;
+        for (Segment segment : segments) {
+            node = switch (segment.kind()) {
+                case LITERAL -> node.literals.computeIfAbsent(segment.key(), k -> new Node());
+                case VARIABLE, PATTERN -> node.variables.computeIfAbsent(segment.key(), k -> new Node());
+                case CATCH_ALL -> node.catchAll == null ? (node.catchAll = new Node()) : node.catchAll;
+            };
+            if (node.segment == null) node.segment = segment;
+            // A catch-all swallows the rest; Spring only allows it last anyway
+            if (segment.kind() == Kind.CATCH_ALL) break;
+        }
+        node.routes.computeIfAbsent(info.getHttpMethod(), k -> new ArrayList<>())
+                .add(new Route(nextId++, info, segments));
+        size++;
+    }
+
+    public void removeProject(String projectName) {
+        removeProject(root, projectName);
+    }
+
+    // @return whether the node is now empty and can be dropped by its parent
+    private boolean removeProject(Node node, String projectName) {
+        Iterator<List<Route>> lists = node.routes.values().iterator();
+        while (lists.hasNext()) {
+            List<Route> routes = lists.next();
+            int before = routes.size();
+            routes.removeIf(route -> route.info().getProjectName().equals(projectName));
+            size -= before - routes.size();
+            if (routes.isEmpty()) lists.remove();
+        }
+        node.literals.values().removeIf(child -> removeProject(child, projectName));
+        node.variables.values().removeIf(child -> removeProject(child, projectName));
+        if (node.catchAll != null && removeProject(node.catchAll, projectName)) node.catchAll = null;
+        return node.isEmpty();
+    }
+
+    // -----------------------------------------------------------------
+    // LOOKUP
+    // -----------------------------------------------------------------
+
+    /**
+     * Routes matching the request path (any method if httpMethod is null), most specific first.
+     */
+    public List<RouteMatch> match(String httpMethod, String path) {
+        List<String> parts = split(path);
+        List<Route> found = new ArrayList<>();
+        match(root, parts, 0, httpMethod, found);
+        found.sort(Route.MOST_SPECIFIC_FIRST);
+
+        List<RouteMatch> matches = new ArrayList<>();
+        for (Route route : found) matches.add(new RouteMatch(route.info(), variables(route, parts)));
+        return matches;
+    }
+
+    private void match(Node node, List<String> parts, int i, String httpMethod, List<Route> out) {
+        if (i == parts.size()) {
+            collect(node, httpMethod, out);
+            // "**" also matches nothing
+            if (node.catchAll != null) collect(node.catchAll, httpMethod, out);
+            return;
+        }
+        String part = parts.get(i);
+        Node literal = node.literals.get(part);
+        if (literal != null) match(literal, parts, i + 1, httpMethod, out);
+        for (Node child : node.variables.values()) {
+            if (child.segment.accepts(part)) match(child, parts, i + 1, httpMethod, out);
+        }
+        if (node.catchAll != null) collect(node.catchAll, httpMethod, out);
+    }
+
+    private static void collect(Node node, String httpMethod, List<Route> out) {
+        if (httpMethod == null) node.routes.values().forEach(out::addAll);
+        else out.addAll(node.routes.getOrDefault(httpMethod, List.of()));
+    }
+
+    private static Map<String, String> variables(Route route, List<String> parts) {
+        Map<String, String> variables = new LinkedHashMap<>();
+        for (int i = 0; i < route.segments().size(); i++) {
+            Segment segment = route.segments().get(i);
+            switch (segment.kind()) {
+                case CATCH_ALL -> {
+                    if (!segment.names().isEmpty()) {
+                        variables.put(segment.names().get(0), "/" + String.join("/", parts.subList(Math.min(i, parts.size()), parts.size())));
+                    }
+                    return variables;
+                }
+                case VARIABLE -> {
+                    if (!segment.names().isEmpty()) variables.put(segment.names().get(0), parts.get(i));
+                }
+                case PATTERN -> {
+                    Matcher matcher = segment.regex().matcher(parts.get(i));
+                    if (matcher.matches()) {
+                        for (int g = 0; g < segment.names().size() && g < matcher.groupCount(); g++) {
+                            variables.put(segment.names().get(g), matcher.group(g + 1));
+                        }
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return variables;
+    }
+
+    // -----------------------------------------------------------------
+    // CONFLICTS
+    // -----------------------------------------------------------------
+
+    /**
+     * Duplicate and overlapping routes. Each route is walked through the trie with its
+     * own segments, so only routes that can match a common path are ever compared.
+     */
+    public List<RouteConflict> conflicts() {
+        List<Route> all = new ArrayList<>();
+        collectAll(root, null, all);
+
+        // Duplicates are grouped per method + normalized pattern, the rest reported per pair
+        Map<String, RouteConflict> duplicates = new LinkedHashMap<>();
+        List<RouteConflict> overlaps = new ArrayList<>();
+        for (Route route : all) {
+            List<Route> candidates = new ArrayList<>();
+            overlapping(root, route.segments(), 0, route.info().getHttpMethod(), candidates);
+            for (Route other : candidates) {
+                if (other.id() <= route.id()) continue;
+
+                boolean crossService = !route.info().getProjectName().equals(other.info().getProjectName());
+                if (route.normalized().equals(other.normalized())) {
+                    RouteConflict conflict = duplicates.computeIfAbsent(
+                            route.info().getHttpMethod() + " " + route.normalized(), k -> {
+                                RouteConflict c = conflict(RouteConflict.Type.DUPLICATE, route.info().getHttpMethod(), false);
+                                c.getRoutes().add(route.info());
+                                return c;
+                            });
+                    if (!conflict.getRoutes().contains(other.info())) conflict.getRoutes().add(other.info());
+                    if (crossService) conflict.setCrossService(true);
+                    continue;
+                }
+
+                // Spring itself refuses to choose between equally specific patterns
+                boolean tie = Route.MOST_SPECIFIC_FIRST.compare(route, other) == 0;
+                RouteConflict.Type type;
+                if (tie) type = RouteConflict.Type.AMBIGUOUS;
+                else if (crossService) type = RouteConflict.Type.OVERLAP;
+                else continue; // Within a service the more specific mapping simply wins
+
+                RouteConflict conflict = conflict(type, route.info().getHttpMethod(), crossService);
+                conflict.getRoutes().add(route.info());
+                conflict.getRoutes().add(other.info());
+                overlaps.add(conflict);
+            }
+        }
+
+        List<RouteConflict> result = new ArrayList<>(duplicates.values());
+        result.addAll(overlaps);
+        return result;
+    }
+
+    private static RouteConflict conflict(RouteConflict.Type type, String httpMethod, boolean crossService) {
+        RouteConflict conflict = new RouteConflict();
+        conflict.setType(type);
+        conflict.setHttpMethod(httpMethod);
+        conflict.setCrossService(crossService);
+        return conflict;
+    }
+
+    // Routes (same method) that can match at least one path the given segments match
+    private void overlapping(Node node, List<Segment> segments, int i, String httpMethod, List<Route> out) {
+        if (i == segments.size()) {
+            collect(node, httpMethod, out);
+            if (node.catchAll != null) collect(node.catchAll, httpMethod, out);
+            return;
+        }
+        Segment segment = segments.get(i);
+        if (segment.kind() == Kind.CATCH_ALL) {
+            collectAll(node, httpMethod, out);
+            return;
+        }
+        if (segment.kind() == Kind.LITERAL) {
+            Node literal = node.literals.get(segment.key());
+            if (literal != null) overlapping(literal, segments, i + 1, httpMethod, out);
+            for (Node child : node.variables.values()) {
+                if (child.segment.accepts(segment.key())) overlapping(child, segments, i + 1, httpMethod, out);
+            }
+        } else {
+            for (Map.Entry<String, Node> literal : node.literals.entrySet()) {
+                if (segment.accepts(literal.getKey())) overlapping(literal.getValue(), segments, i + 1, httpMethod, out);
+            }
+            for (Node child : node.variables.values()) {
+                if (mayOverlap(segment, child.segment)) overlapping(child, segments, i + 1, httpMethod, out);
+            }
+        }
+        if (node.catchAll != null) collect(node.catchAll, httpMethod, out);
+    }
+
+    // Two non-literal segments: assume they overlap unless both are constrained differently
+    private static boolean mayOverlap(Segment a, Segment b) {
+        if (a.key().equals(b.key())) return true;
+        return a.regex() == null || b.regex() == null;
+    }
+
+    private static void collectAll(Node node, String httpMethod, List<Route> out) {
+        collect(node, httpMethod, out);
+        node.literals.values().forEach(child -> collectAll(child, httpMethod, out));
+        node.variables.values().forEach(child -> collectAll(child, httpMethod, out));
+        if (node.catchAll != null) collectAll(node.catchAll, httpMethod, out);
+    }
+
+    private static List<String> split(String path) {
+        List<String> parts = new ArrayList<>();
+        if (path == null) return parts;
+        for (String part : path.split("/")) {
+            if (!part.isEmpty()) parts.add(part);
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.service.analyzeService.scanner;
+
+import com.example.demo.model.analyzeModel.ApiEndpoint;
+import com.example.demo.model.analyzeModel.FileAnalysis;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Collects REST endpoints declared in @RestController classes.
+ */
+@Component
+public class ControllerVisitor implements SourceVisitor {
+
+    private static final List<String> HTTP_METHODS = List.of("Get", "Post", "Put", "Delete", "Patch");
+
+    @Override
+    public List<String> markers() {
+        return List.of("@RestController");
+    }
+
+    @Override
+    public SourceTokenizer.Listener open(CharSequence source, FileAnalysis analysis) {
+        return new SourceTokenizer.Listener() {
+            private String controllerClass;
+            private boolean isRestController;
+            private String basePath = "";
+
+            @Override
+            public void annotation(CharSequence src, int nameStart, int nameEnd, int argsStart, int argsEnd) {
+                if (SourceTokenizer.regionEquals(src, nameStart, nameEnd, "RestController")) {
+                    isRestController = true;
+                    return;
+                }
+                // Class-level @RequestMapping sets the base path of every endpoint
+                if (controllerClass == null && SourceTokenizer.regionEquals(src, nameStart, nameEnd, "RequestMapping")) {
+                    basePath = mappingValue(src, argsStart, argsEnd);
+                    return;
+                }
+                if (!isRestController || controllerClass == null) return;
+
+                String method = httpMethod(src, nameStart, nameEnd);
+                if (method == null) return;
+
+                ApiEndpoint ep = new ApiEndpoint();
+                ep.setHttpMethod(method);
+                String subPath = mappingValue(src, argsStart, argsEnd);
+                String path = subPath.isEmpty() ? basePath : basePath + "/" + subPath;
+                ep.setPath(path.isEmpty() ? "/" : path.replaceAll("//+", "/"));
+                ep.setController(controllerClass);
+                analysis.getApiEndpoints().add(ep);
+            }
+
+            @Override
+            public void typeDeclaration(CharSequence src, int nameStart, int nameEnd, int depth) {
+                if (controllerClass == null) controllerClass = src.subSequence(nameStart, nameEnd).toString();
+            }
+        };
+    }
+
+    // "GetMapping" -> "GET", null if not an @XxxMapping for an HTTP method
+    public static String httpMethod(CharSequence src, int nameStart, int nameEnd) {
+        for (String method : HTTP_METHODS) {
+            int mappingStart = nameStart + method.length();
+            if (SourceTokenizer.regionEquals(src, nameStart, mappingStart, method)
+                    && SourceTokenizer.regionEquals(src, mappingStart, nameEnd, "Mapping")) {
+                return method.toUpperCase(Locale.ROOT);
+            }
+        }
+        return null;
+    }
+
+    public static String mappingValue(CharSequence src, int argsStart, int argsEnd) {
+        String value = SourceTokenizer.annotationValue(src, argsStart, argsEnd, "value", "path");
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.service.analyzeService.scanner;
+
+import com.example.demo.model.analyzeModel.EntityInfo;
+import com.example.demo.model.analyzeModel.FileAnalysis;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Collects JPA @Entity classes and their @Table names.
+ */
+@Component
+public class EntityVisitor implements SourceVisitor {
+
+    @Override
+    public List<String> markers() {
+        return List.of("@Entity");
+    }
+
+    @Override
+    public SourceTokenizer.Listener open(CharSequence source, FileAnalysis analysis) {
+        return new SourceTokenizer.Listener() {
+            private boolean isEntity;
+            private String name;
+            private String tableName;
+
+            @Override
+            public void annotation(CharSequence src, int nameStart, int nameEnd, int argsStart, int argsEnd) {
+                if (SourceTokenizer.regionEquals(src, nameStart, nameEnd, "Entity")) {
+                    isEntity = true;
+                } else if (tableName == null && SourceTokenizer.regionEquals(src, nameStart, nameEnd, "Table")) {
+                    tableName = SourceTokenizer.annotationValue(src, argsStart, argsEnd, "name");
+                }
+            }
+
+            @Override
+            public void typeDeclaration(CharSequence src, int nameStart, int nameEnd, int depth) {
+                if (name == null) name = src.subSequence(nameStart, nameEnd).toString();
+            }
+
+            @Override
+            public void end() {
+                if (!isEntity) return;
+                EntityInfo entity = new EntityInfo();
+                entity.setName(name != null ? name : "UnknownEntity");
+                entity.setTableName(tableName);
+                analysis.getEntities().add(entity);
+            }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.service.analyzeService.scanner;
+
+import com.example.demo.model.analyzeModel.FileIndex;
+import com.example.demo.service.analyzeService.SpringAnalyzerService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Loads and saves analyzed/&lt;project&gt;/file-index.json.
+ */
+@Component
+public class FileIndexStore {
+
+    // Bump whenever a SourceVisitor changes what it extracts, so stale per-file results are dropped
+    public static final int INDEX_VERSION = 2;
+
+    private static final String INDEX_FILE = "file-index.json";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * @return the stored index, or an empty one if missing, unreadable or from an older version.
+     */
+    public FileIndex load(String projectName) {
+        Path indexPath = SpringAnalyzerService.ANALYSIS_DIR.resolve(projectName).resolve(INDEX_FILE);
+        if (Files.exists(indexPath)) {
+            try {
+                FileIndex index = objectMapper.readValue(indexPath.toFile(), FileIndex.class);
+                if (index.getVersion() == INDEX_VERSION) return index;
+            } catch (IOException e) {
+                System.err.println("Ignoring unreadable file index for " + projectName + ": " + e.getMessage());
+            }
+        }
+        FileIndex empty = new FileIndex();
+        empty.setVersion(INDEX_VERSION);
+        return empty;
+    }
+
+    public void save(String projectName, FileIndex index) throws IOException {
+        Path outDir = SpringAnalyzerService.ANALYSIS_DIR.resolve(projectName);
+        Files.createDirectories(outDir);
+
+        // Own temp file, moved into place, so a crash mid-write never leaves a truncated index
+        Path temp = Files.createTempFile(outDir, INDEX_FILE, ".tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), index);
+            Files.move(temp, outDir.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
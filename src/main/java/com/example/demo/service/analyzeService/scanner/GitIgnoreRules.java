@@ -0,0 +1,151 @@
+package com.example.demo.service.analyzeService.scanner;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Rules of a single .gitignore file, matched against paths below the directory it lives in.
+ *
+ * Supports the common subset of gitignore syntax: comments, negation (!), directory-only
+ * patterns (trailing /), anchored patterns (leading or inner /), and the wildcards
+ * *, ?, ** and [...] character classes.
+ */
+public class GitIgnoreRules {
+
+    public enum Match { IGNORED, NOT_IGNORED, NONE }
+
+    private record Rule(Pattern pattern, boolean negated, boolean directoryOnly) {}
+
+    private final Path baseDir;
+    private final List<Rule> rules;
+
+    private GitIgnoreRules(Path baseDir, List<Rule> rules) {
+        this.baseDir = baseDir;
+        this.rules = rules;
+    }
+
+    /**
+     * @return the rules of dir/.gitignore, or null if the directory has none.
+     */
+    public static GitIgnoreRules load(Path dir) {
+        Path file = dir.resolve(".gitignore");
+        if (!Files.isRegularFile(file)) return null;
+        try {
+            return parse(dir, Files.readAllLines(file));
+        } catch (IOException e) {
+            System.err.println("Could not read " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    public static GitIgnoreRules parse(Path baseDir, List<String> lines) {
+        List<Rule> rules = new ArrayList<>();
+        for (String raw : lines) {
+            String line = raw.strip();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            boolean negated = line.startsWith("!");
+            if (negated) line = line.substring(1);
+            if (line.startsWith("\\")) line = line.substring(1); // escaped leading # or !
+
+            boolean directoryOnly = line.endsWith("/");
+            if (directoryOnly) line = line.substring(0, line.length() - 1);
+            if (line.isEmpty()) continue;
+
+            // A slash anywhere but the end anchors the pattern to baseDir
+            boolean anchored = line.contains("/");
+            if (line.startsWith("/")) line = line.substring(1);
+
+            String regex = (anchored ? "" : "(?:.*/)?") + toRegex(line);
+            try {
+                rules.add(new Rule(Pattern.compile(regex), negated, directoryOnly));
+            } catch (PatternSyntaxException e) {
+                // e.g. a reversed range like [z-a]; git ignores such a line too, it never matches
+                System.err.println("Skipping invalid pattern '" + raw + "' in " + baseDir.resolve(".gitignore")
+                        + ": " + e.getDescription());
+            }
+        }
+        return new GitIgnoreRules(baseDir, rules);
+    }
+
+    /**
+     * Last matching rule wins, as in git. NONE if no rule mentions the path.
+     */
+    public Match match(Path path, boolean isDirectory) {
+        if (!path.startsWith(baseDir) || path.equals(baseDir)) return Match.NONE;
+        String relative = baseDir.relativize(path).toString().replace('\\', '/');
+
+        Match result = Match.NONE;
+        for (Rule rule : rules) {
+            if (rule.directoryOnly() && !isDirectory) continue;
+            if (rule.pattern().matcher(relative).matches()) {
+                result = rule.negated() ? Match.NOT_IGNORED : Match.IGNORED;
+            }
+        }
+        return result;
+    }
+
+    private static String toRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int i = 0;
+        while (i < glob.length()) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                boolean doubleStar = i + 1 < glob.length() && glob.charAt(i + 1) == '*';
+                if (doubleStar && i + 2 < glob.length() && glob.charAt(i + 2) == '/') {
+                    regex.append("(?:.*/)?");       // "**/" = zero or more directories
+                    i += 3;
+                } else if (doubleStar) {
+                    regex.append(".*");             // trailing "/**" = everything inside
+                    i += 2;
+                } else {
+                    regex.append("[^/]*");
+                    i++;
+                }
+            } else if (c == '?') {
+                regex.append("[^/]");
+                i++;
+            } else if (c == '[') {
+                int end = glob.indexOf(']', i + 1);
+                if (end < 0) {
+                    regex.append("\\[");
+                    i++;
+                } else {
+                    regex.append('[').append(classBody(glob.substring(i + 1, end))).append(']');
+                    i = end + 1;
+                }
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+                i++;
+            }
+        }
+        return regex.toString();
+    }
+
+    // Body of a [...] class: leading ! or ^ negates, a-z ranges stay, everything else is literal
+    private static String classBody(String body) {
+        StringBuilder regex = new StringBuilder();
+        int start = 0;
+        if (body.startsWith("!") || body.startsWith("^")) {
+            regex.append('^');
+            start = 1;
+        }
+        for (int k = start; k < body.length(); k++) {
+            char c = body.charAt(k);
+            if (c == '\\' && k + 1 < body.length()) {
+                c = body.charAt(++k);
+            } else if (c == '-' && k > start && k + 1 < body.length()) {
+                regex.append('-');
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) regex.append(c);
+            else regex.append('\\').append(c);
+        }
+        return regex.toString();
+    }
+}
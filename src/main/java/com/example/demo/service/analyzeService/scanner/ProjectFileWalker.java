@@ -0,0 +1,150 @@
+package com.example.demo.service.analyzeService.scanner;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Project tree walker shared by every scanner. Ignored directories (the configured
+ * default list plus anything matched by .gitignore files) are pruned at the
+ * FileVisitor level, so their subtrees are never opened.
+ */
+@Component
+public class ProjectFileWalker {
+
+    private final Set<String> ignoredDirectories;
+
+    public ProjectFileWalker(@Value("${app.analysis.ignored-dirs:node_modules,.git,target,build,dist,out,.idea,.vscode,.gradle}")
+                             String[] ignoredDirectories) {
+        this.ignoredDirectories = Set.of(ignoredDirectories);
+    }
+
+    /**
+     * Lists the non-ignored files under projectRoot that match the filter, in walk order.
+     */
+    public List<Path> listFiles(Path projectRoot, Predicate<Path> fileFilter) throws IOException {
+        return listFiles(projectRoot, projectRoot, fileFilter);
+    }
+
+    /**
+     * Same as {@link #listFiles(Path, Predicate)} but only walks startDir (inside projectRoot);
+     * .gitignore files between projectRoot and startDir still apply.
+     */
+    public List<Path> listFiles(Path projectRoot, Path startDir, Predicate<Path> fileFilter) throws IOException {
+        return listFiles(projectRoot, startDir, fileFilter, null);
+    }
+
+    /**
+     * Same as {@link #listFiles(Path, Path, Predicate)}, also passing every visited
+     * (non-ignored) directory, startDir included, to directoryVisitor if it is not null.
+     */
+    public List<Path> listFiles(Path projectRoot, Path startDir, Predicate<Path> fileFilter,
+                                Consumer<Path> directoryVisitor) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(startDir)) return files;
+
+        Deque<GitIgnoreRules> active = new ArrayDeque<>();
+        // Rules from the project root down to (but not including) startDir
+        if (!startDir.equals(projectRoot) && startDir.startsWith(projectRoot)) {
+            Path dir = projectRoot;
+            for (Path part : projectRoot.relativize(startDir)) {
+                GitIgnoreRules rules = GitIgnoreRules.load(dir);
+                if (rules != null) active.addLast(rules);
+                dir = dir.resolve(part);
+            }
+        }
+
+        Files.walkFileTree(startDir, new SimpleFileVisitor<>() {
+            // Directories that pushed a rule set, so postVisitDirectory knows to pop it
+            private final Deque<Path> ruleOwners = new ArrayDeque<>();
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                if (!dir.equals(startDir)) {
+                    if (ignoredDirectories.contains(dir.getFileName().toString()) || isIgnored(active, dir, true)) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                }
+                GitIgnoreRules rules = GitIgnoreRules.load(dir);
+                if (rules != null) {
+                    active.addLast(rules);
+                    ruleOwners.push(dir);
+                }
+                if (directoryVisitor != null) directoryVisitor.accept(dir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && !isIgnored(active, file, false) && fileFilter.test(file)) {
+                    files.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                System.err.println("Skipping unreadable path: " + file + " - " + e.getMessage());
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) {
+                if (!ruleOwners.isEmpty() && ruleOwners.peek().equals(dir)) {
+                    ruleOwners.pop();
+                    active.removeLast();
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return files;
+    }
+
+    /**
+     * Whether listFiles would skip this single path below projectRoot (an ignored directory
+     * on the way, or a .gitignore rule), without walking anything else.
+     */
+    public boolean isIgnored(Path projectRoot, Path path, boolean isDirectory) {
+        if (!path.startsWith(projectRoot) || path.equals(projectRoot)) return false;
+
+        Deque<GitIgnoreRules> active = new ArrayDeque<>();
+        Path relative = projectRoot.relativize(path);
+        Path dir = projectRoot;
+        for (int i = 0; i < relative.getNameCount(); i++) {
+            GitIgnoreRules rules = GitIgnoreRules.load(dir);
+            if (rules != null) active.addLast(rules);
+
+            Path next = dir.resolve(relative.getName(i));
+            boolean nextIsDirectory = i < relative.getNameCount() - 1 || isDirectory;
+            if (nextIsDirectory && ignoredDirectories.contains(next.getFileName().toString())) return true;
+            if (isIgnored(active, next, nextIsDirectory)) return true;
+            dir = next;
+        }
+        return false;
+    }
+
+    // Outer .gitignore files first, so deeper ones override them
+    private static boolean isIgnored(Deque<GitIgnoreRules> active, Path path, boolean isDirectory) {
+        boolean ignored = false;
+        for (GitIgnoreRules rules : active) {
+            GitIgnoreRules.Match match = rules.match(path, isDirectory);
+            if (match != GitIgnoreRules.Match.NONE) {
+                ignored = match == GitIgnoreRules.Match.IGNORED;
+            }
+        }
+        return ignored;
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.demo.service.analyzeService.scanner;
+
+import com.example.demo.model.analyzeModel.FileAnalysis;
+import com.example.demo.model.analyzeModel.FileIndex;
+import com.example.demo.model.analyzeModel.FileIndexEntry;
+import com.example.demo.service.analyzeService.engine.AnalysisProgress;
+import com.example.demo.service.analyzeService.engine.MarkerPrefilter;
+import com.example.demo.service.analyzeService.engine.ParallelAnalysisEngine;
+import com.example.demo.service.analyzeService.engine.ParsedSourceCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Walks a project tree once and runs all registered {@link SourceVisitor}s over every
+ * .java file. Files are processed on the shared analysis worker pool; a file containing
+ * none of the visitors' markers is only hashed at the byte level and never decoded.
+ *
+ * Per-file results are cached in the project's {@link FileIndex}: a file whose size and
+ * mtime are unchanged is not read at all, and one whose content hash is unchanged is
+ * not re-visited.
+ */
+@Component
+public class ProjectSourceScanner {
+
+    @Autowired
+    private List<SourceVisitor> visitors;
+
+    @Autowired
+    private ParallelAnalysisEngine analysisEngine;
+
+    @Autowired
+    private FileIndexStore fileIndexStore;
+
+    @Autowired
+    private ParsedSourceCache sourceCache;
+
+    @Autowired
+    private ProjectFileWalker fileWalker;
+
+    @Autowired
+    private MarkerPrefilter markerPrefilter;
+
+    /**
+     * @return one FileAnalysis per readable .java file, ordered by path.
+     */
+    public List<FileAnalysis> scan(String projectName, Path projectPath) throws IOException {
+        return scan(projectName, projectPath, AnalysisProgress.NONE);
+    }
+
+    public List<FileAnalysis> scan(String projectName, Path projectPath, AnalysisProgress progress) throws IOException {
+        progress.phase("walking");
+        List<Path> javaFiles = fileWalker.listFiles(projectPath, p -> p.toString().endsWith(".java"));
+        javaFiles.sort(null);
+
+        FileIndex previous = fileIndexStore.load(projectName);
+        Map<String, FileIndexEntry> cached = previous.getFiles();
+
+        byte[][] markers = collectMarkers();
+        progress.phase("scanning");
+        List<FileIndexEntry> entries = analysisEngine.map(javaFiles, file -> indexFile(projectPath, file, cached, markers), progress);
+
+        // Files that disappeared simply drop out of the new index
+        FileIndex updated = new FileIndex();
+        updated.setVersion(FileIndexStore.INDEX_VERSION);
+        entries.forEach(entry -> updated.getFiles().put(entry.getAnalysis().getPath(), entry));
+        fileIndexStore.save(projectName, updated);
+
+        return entries.stream().map(FileIndexEntry::getAnalysis).toList();
+    }
+
+    private FileIndexEntry indexFile(Path projectPath, Path file, Map<String, FileIndexEntry> cached,
+                                     byte[][] markers) throws IOException {
+        String relativePath = projectPath.relativize(file).toString().replace('\\', '/');
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        long lastModified = attrs.lastModifiedTime().toMillis();
+
+        FileIndexEntry previous = cached.get(relativePath);
+        if (previous != null && previous.getSize() == attrs.size() && previous.getLastModified() == lastModified) {
+            return previous;
+        }
+
+        // One byte-level pass hashes the file and checks whether any visitor could match it
+        MessageDigest digest = sha256();
+        boolean relevant = markerPrefilter.containsAny(file, markers, digest);
+        String hash = HexFormat.of().formatHex(digest.digest());
+        if (previous != null && hash.equals(previous.getHash())) {
+            // Touched but not changed: keep the extracted results, refresh the fingerprint
+            return new FileIndexEntry(attrs.size(), lastModified, hash, previous.getAnalysis());
+        }
+
+        if (!relevant) {
+            // No visitor marker in the file: nothing to extract, so never decode it
+            FileAnalysis empty = new FileAnalysis();
+            empty.setPath(relativePath);
+            return new FileIndexEntry(attrs.size(), lastModified, hash, empty);
+        }
+
+        String content = sourceCache.get(file).getContent();
+        return new FileIndexEntry(attrs.size(), lastModified, hash, analyzeFile(relativePath, content));
+    }
+
+    /**
+     * Union of all visitor markers, or an empty array (match everything) if any visitor needs every file.
+     */
+    private byte[][] collectMarkers() {
+        Set<String> markers = new LinkedHashSet<>();
+        for (SourceVisitor visitor : visitors) {
+            if (visitor.markers().isEmpty()) return new byte[0][];
+            markers.addAll(visitor.markers());
+        }
+        return MarkerPrefilter.markers(markers);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private FileAnalysis analyzeFile(String relativePath, String content) {
+        FileAnalysis analysis = new FileAnalysis();
+        analysis.setPath(relativePath);
+
+        // One tokenizer pass feeds every visitor
+        SourceTokenizer.Listener[] listeners = new SourceTokenizer.Listener[visitors.size()];
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i] = visitors.get(i).open(content, analysis);
+        }
+        SourceTokenizer.tokenize(content, listeners);
+        return analysis;
+    }
+}
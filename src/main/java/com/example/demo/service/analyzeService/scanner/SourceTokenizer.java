@@ -0,0 +1,364 @@
+package com.example.demo.service.analyzeService.scanner;
+
+/**
+ * Single-pass scanner over Java source that reports annotations, type declarations and
+ * method declarations to listeners, as offsets into the source (no String per line or
+ * per token). Comments, string/char literals and text blocks are skipped, so an
+ * "@Entity" inside a string or comment is not reported.
+ *
+ * This is deliberately not a parser: it only tracks brace depth and the last two tokens,
+ * which is enough to tell a method declaration ("Type name(" directly in a class body)
+ * from a call or a control statement.
+ */
+public final class SourceTokenizer {
+
+    /**
+     * Receives the tokens of one file. Offsets are [start, end) into the source.
+     */
+    public interface Listener {
+
+        /** argsStart/argsEnd are -1 for an annotation without parentheses. */
+        default void annotation(CharSequence src, int nameStart, int nameEnd, int argsStart, int argsEnd) {}
+
+        /** class / interface / enum / record / @interface; depth 0 = top-level type. */
+        default void typeDeclaration(CharSequence src, int nameStart, int nameEnd, int depth) {}
+
+        /** Method or constructor declared directly in a type body. */
+        default void methodDeclaration(CharSequence src, int nameStart, int nameEnd) {}
+
+        /** Called once after the whole source was scanned. */
+        default void end() {}
+    }
+
+    // Kinds of the previously seen token, for method detection
+    private static final int OTHER = 0;
+    private static final int IDENTIFIER = 1;
+    private static final int TYPE_END = 2;          // '>' or ']' closing a return type
+    private static final int BLOCKING_KEYWORD = 3;  // new, return, throw, ... (never before a declaration name)
+
+    private final CharSequence src;
+    private final int length;
+    private final Listener[] listeners;
+
+    private int pos;
+    private int depth;
+    // Brace depth of every enclosing type body, innermost last
+    private int[] typeBodies = new int[8];
+    private int typeCount;
+    private boolean typeBodyPending;
+
+    private int previousKind = OTHER;
+    private int lastKind = OTHER;
+    private int lastStart;
+    private int lastEnd;
+
+    private SourceTokenizer(CharSequence src, Listener[] listeners) {
+        this.src = src;
+        this.length = src.length();
+        this.listeners = listeners;
+    }
+
+    public static void tokenize(CharSequence src, Listener... listeners) {
+        new SourceTokenizer(src, listeners).run();
+    }
+
+    // -----------------------------------------------------------------
+    // HELPERS FOR LISTENERS
+    // -----------------------------------------------------------------
+    public static boolean regionEquals(CharSequence src, int start, int end, String expected) {
+        if (end - start != expected.length()) return false;
+        for (int i = 0; i < expected.length(); i++) {
+            if (src.charAt(start + i) != expected.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    public static boolean contains(CharSequence src, String needle) {
+        int last = src.length() - needle.length();
+        for (int i = 0; i <= last; i++) {
+            if (regionEquals(src, i, i + needle.length(), needle)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * The string value of an annotation: a leading string literal ("x" or {"x", ...}), or
+     * else the literal assigned to the first of the given attributes present (e.g.
+     * value = "x"). Returns null if there is none, e.g. for a constant expression.
+     */
+    public static String annotationValue(CharSequence src, int argsStart, int argsEnd, String... attributes) {
+        if (argsStart < 0) return null;
+
+        String positional = literalAt(src, skipWhitespace(src, argsStart, argsEnd), argsEnd);
+        if (positional != null) return positional;
+
+        for (String attribute : attributes) {
+            int i = argsStart;
+            while (i < argsEnd) {
+                char c = src.charAt(i);
+                if (c == '"') {
+                    i = skipLiteral(src, i, argsEnd);
+                    continue;
+                }
+                if (Character.isJavaIdentifierStart(c)) {
+                    int start = i;
+                    while (i < argsEnd && Character.isJavaIdentifierPart(src.charAt(i))) i++;
+                    if (regionEquals(src, start, i, attribute)) {
+                        int eq = skipWhitespace(src, i, argsEnd);
+                        if (eq < argsEnd && src.charAt(eq) == '=') {
+                            String value = literalAt(src, skipWhitespace(src, eq + 1, argsEnd), argsEnd);
+                            if (value != null) return value;
+                        }
+                    }
+                    continue;
+                }
+                i++;
+            }
+        }
+        return null;
+    }
+
+    // "x" or {"x", ...} at i -> x
+    private static String literalAt(CharSequence src, int i, int end) {
+        if (i < end && src.charAt(i) == '{') i = skipWhitespace(src, i + 1, end);
+        if (i >= end || src.charAt(i) != '"') return null;
+        int close = skipLiteral(src, i, end) - 1;
+        return close > i ? src.subSequence(i + 1, close).toString() : null;
+    }
+
+    private static int skipWhitespace(CharSequence src, int i, int end) {
+        while (i < end && Character.isWhitespace(src.charAt(i))) i++;
+        return i;
+    }
+
+    // i is at an opening '"'; returns the index after the closing quote (or end)
+    private static int skipLiteral(CharSequence src, int i, int end) {
+        i++;
+        while (i < end) {
+            char c = src.charAt(i);
+            if (c == '\\') {
+                i += 2;
+                continue;
+            }
+            i++;
+            if (c == '"' || c == '\n') break;
+        }
+        return Math.min(i, end);
+    }
+
+    // -----------------------------------------------------------------
+    // SCANNER
+    // -----------------------------------------------------------------
+    private void run() {
+        while (pos < length) {
+            char c = src.charAt(pos);
+
+            if (Character.isWhitespace(c)) {
+                pos++;
+            } else if (c == '/' && pos + 1 < length && src.charAt(pos + 1) == '/') {
+                while (pos < length && src.charAt(pos) != '\n') pos++;
+            } else if (c == '/' && pos + 1 < length && src.charAt(pos + 1) == '*') {
+                pos += 2;
+                while (pos + 1 < length && !(src.charAt(pos) == '*' && src.charAt(pos + 1) == '/')) pos++;
+                pos += 2;
+            } else if (c == '"' || c == '\'') {
+                skipQuoted(c);
+                token(OTHER);
+            } else if (c == '@') {
+                pos++;
+                annotation();
+            } else if (Character.isJavaIdentifierStart(c)) {
+                identifier();
+            } else {
+                pos++;
+                punctuation(c);
+            }
+        }
+        for (Listener listener : listeners) listener.end();
+    }
+
+    private void identifier() {
+        int start = pos;
+        while (pos < length && Character.isJavaIdentifierPart(src.charAt(pos))) pos++;
+        int end = pos;
+
+        // Type keywords, except in "Foo.class"
+        if (previousCharIsNotDot(start) && (isWord(start, end, "class") || isWord(start, end, "interface")
+                || isWord(start, end, "enum") || (isWord(start, end, "record") && nextIsIdentifier()))) {
+            typeDeclaration();
+            return;
+        }
+
+        if (isWord(start, end, "new") || isWord(start, end, "return") || isWord(start, end, "throw")
+                || isWord(start, end, "else") || isWord(start, end, "case") || isWord(start, end, "yield")) {
+            token(BLOCKING_KEYWORD);
+            return;
+        }
+
+        previousKind = lastKind;
+        lastKind = IDENTIFIER;
+        lastStart = start;
+        lastEnd = end;
+    }
+
+    private void typeDeclaration() {
+        skipTrivia();
+        int start = pos;
+        while (pos < length && Character.isJavaIdentifierPart(src.charAt(pos))) pos++;
+        if (pos > start) {
+            for (Listener listener : listeners) listener.typeDeclaration(src, start, pos, typeCount);
+            typeBodyPending = true;
+        }
+        token(OTHER);
+    }
+
+    private void annotation() {
+        skipTrivia();
+        // Qualified names (@org.example.Foo) report their simple name
+        int start = pos;
+        int end = pos;
+        while (pos < length) {
+            int segment = pos;
+            while (pos < length && Character.isJavaIdentifierPart(src.charAt(pos))) pos++;
+            if (pos == segment) break;
+            start = segment;
+            end = pos;
+            if (pos < length && src.charAt(pos) == '.') pos++;
+            else break;
+        }
+        if (end == start) return;
+
+        // "@interface Foo" declares an annotation type
+        if (isWord(start, end, "interface")) {
+            typeDeclaration();
+            return;
+        }
+
+        int argsStart = -1;
+        int argsEnd = -1;
+        int afterName = pos;
+        skipTrivia();
+        if (pos < length && src.charAt(pos) == '(') {
+            argsStart = pos + 1;
+            argsEnd = skipParentheses();
+        } else {
+            pos = afterName;
+        }
+
+        for (Listener listener : listeners) listener.annotation(src, start, end, argsStart, argsEnd);
+        // Annotations are modifiers: they don't change what the surrounding tokens mean
+    }
+
+    private void punctuation(char c) {
+        switch (c) {
+            case '(' -> {
+                boolean declarationContext = typeCount > 0 && depth == typeBodies[typeCount - 1];
+                if (declarationContext && lastKind == IDENTIFIER
+                        && (previousKind == IDENTIFIER || previousKind == TYPE_END)) {
+                    for (Listener listener : listeners) listener.methodDeclaration(src, lastStart, lastEnd);
+                }
+                token(OTHER);
+            }
+            case '{' -> {
+                depth++;
+                if (typeBodyPending) {
+                    if (typeCount == typeBodies.length) {
+                        int[] grown = new int[typeCount * 2];
+                        System.arraycopy(typeBodies, 0, grown, 0, typeCount);
+                        typeBodies = grown;
+                    }
+                    typeBodies[typeCount++] = depth;
+                    typeBodyPending = false;
+                }
+                token(OTHER);
+            }
+            case '}' -> {
+                if (typeCount > 0 && typeBodies[typeCount - 1] == depth) typeCount--;
+                depth--;
+                token(OTHER);
+            }
+            case '>', ']' -> token(TYPE_END);
+            // Inside a generic or array return type: keep the identifier context
+            case '<', '[', '?' -> {}
+            default -> token(OTHER);
+        }
+    }
+
+    private void token(int kind) {
+        previousKind = lastKind;
+        lastKind = kind;
+    }
+
+    // pos is at '(' ; returns the index of the matching ')' and moves past it
+    private int skipParentheses() {
+        int nesting = 0;
+        while (pos < length) {
+            char c = src.charAt(pos);
+            if (c == '"' || c == '\'') {
+                skipQuoted(c);
+                continue;
+            }
+            pos++;
+            if (c == '(') {
+                nesting++;
+            } else if (c == ')' && --nesting == 0) {
+                return pos - 1;
+            }
+        }
+        return length;
+    }
+
+    // pos is at the opening quote; handles "...", '...' and """text blocks"""
+    private void skipQuoted(char quote) {
+        if (quote == '"' && pos + 2 < length && src.charAt(pos + 1) == '"' && src.charAt(pos + 2) == '"') {
+            pos += 3;
+            while (pos + 2 < length && !(src.charAt(pos) == '"' && src.charAt(pos + 1) == '"'
+                    && src.charAt(pos + 2) == '"' && src.charAt(pos - 1) != '\\')) {
+                pos++;
+            }
+            pos += 3;
+            return;
+        }
+        pos++;
+        while (pos < length) {
+            char c = src.charAt(pos++);
+            if (c == '\\') pos++;
+            else if (c == quote || c == '\n') return;
+        }
+    }
+
+    private void skipTrivia() {
+        while (pos < length) {
+            char c = src.charAt(pos);
+            if (Character.isWhitespace(c)) {
+                pos++;
+            } else if (c == '/' && pos + 1 < length && src.charAt(pos + 1) == '/') {
+                while (pos < length && src.charAt(pos) != '\n') pos++;
+            } else if (c == '/' && pos + 1 < length && src.charAt(pos + 1) == '*') {
+                pos += 2;
+                while (pos + 1 < length && !(src.charAt(pos) == '*' && src.charAt(pos + 1) == '/')) pos++;
+                pos += 2;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private boolean nextIsIdentifier() {
+        int saved = pos;
+        skipTrivia();
+        boolean result = pos < length && Character.isJavaIdentifierStart(src.charAt(pos));
+        pos = saved;
+        return result;
+    }
+
+    private boolean previousCharIsNotDot(int start) {
+        int i = start - 1;
+        while (i >= 0 && Character.isWhitespace(src.charAt(i))) i--;
+        return i < 0 || src.charAt(i) != '.';
+    }
+
+    private boolean isWord(int start, int end, String word) {
+        return regionEquals(src, start, end, word);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.demo.service.analyzeService.scanner;
+
+import com.example.demo.model.analyzeModel.FileAnalysis;
+
+import java.util.List;
+
+/**
+ * A single concern of the Spring analysis (controllers, entities, main class, ...).
+ * Every Spring bean implementing this is fed each source file once by {@link ProjectSourceScanner}:
+ * all visitors listen to the same {@link SourceTokenizer} pass and record their findings on
+ * that file's {@link FileAnalysis}. Implementations must be stateless; per-file state lives
+ * in the listener returned by {@link #open}.
+ */
+public interface SourceVisitor {
+
+    /**
+     * Starts visiting one file. The returned listener receives that file's tokens.
+     */
+    SourceTokenizer.Listener open(CharSequence source, FileAnalysis analysis);
+
+    /**
+     * Strings at least one of which must appear in a file for this visitor to find anything
+     * in it. Files with none of the markers of any visitor are never decoded.
+     * An empty list means the visitor needs to see every file.
+     */
+    default List<String> markers() {
+        return List.of();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.service.analyzeService.scanner;
+
+import com.example.demo.model.analyzeModel.FileAnalysis;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Flags files that mark a Spring Boot project (main class or REST controller).
+ * Used for detection when the pom does not reference a spring-boot-starter.
+ */
+@Component
+public class SpringMarkerVisitor implements SourceVisitor {
+
+    private static final List<String> MARKERS =
+            List.of("@SpringBootApplication", "@RestController", "SpringApplication.run");
+
+    @Override
+    public List<String> markers() {
+        return MARKERS;
+    }
+
+    @Override
+    public SourceTokenizer.Listener open(CharSequence source, FileAnalysis analysis) {
+        return new SourceTokenizer.Listener() {
+            @Override
+            public void annotation(CharSequence src, int nameStart, int nameEnd, int argsStart, int argsEnd) {
+                if (SourceTokenizer.regionEquals(src, nameStart, nameEnd, "SpringBootApplication")
+                        || SourceTokenizer.regionEquals(src, nameStart, nameEnd, "RestController")) {
+                    analysis.setSpringMarker(true);
+                }
+            }
+
+            @Override
+            public void end() {
+                // A main class calling SpringApplication.run without the annotation
+                if (!analysis.isSpringMarker() && SourceTokenizer.contains(source, "SpringApplication.run")) {
+                    analysis.setSpringMarker(true);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.demo.service.analyzeService.store;
+
+import com.example.demo.model.analyzeModel.ProjectAnalysisResult;
+import com.example.demo.service.analyzeService.SpringAnalyzerService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads and writes analyzed/&lt;project&gt;/analysis.* through the configured
+ * AnalysisResultStore ("app.analysis.result-format", Smile by default).
+ *
+ * Results written in another format (e.g. analysis.json from before the switch) are
+ * still read, and replaced by the active format on the next save.
+ */
+@Component
+public class AnalysisResultStorage {
+
+    private final AnalysisResultStore activeStore;
+    private final List<AnalysisResultStore> fallbackStores = new ArrayList<>();
+    private final JsonResultStore jsonStore;
+
+    public AnalysisResultStorage(List<AnalysisResultStore> stores, JsonResultStore jsonStore,
+                                 @Value("${app.analysis.result-format:smile}") String format) {
+        this.jsonStore = jsonStore;
+        this.activeStore = stores.stream()
+                .filter(store -> store.format().equalsIgnoreCase(format))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown app.analysis.result-format: " + format));
+        for (AnalysisResultStore store : stores) {
+            if (store != activeStore) fallbackStores.add(store);
+        }
+    }
+
+    public void save(String projectName, ProjectAnalysisResult result) throws IOException {
+        Path outDir = SpringAnalyzerService.ANALYSIS_DIR.resolve(projectName);
+        Files.createDirectories(outDir);
+
+        // Write to a temp file of our own and move it into place so readers never see a
+        // partial result and concurrent saves never share one
+        Path target = outDir.resolve(activeStore.fileName());
+        Path temp = Files.createTempFile(outDir, activeStore.fileName(), ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                activeStore.write(result, out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        // Drop copies in other formats so a later format switch can't pick up a stale one
+        for (AnalysisResultStore store : fallbackStores) {
+            Files.deleteIfExists(outDir.resolve(store.fileName()));
+        }
+    }
+
+    /**
+     * @return the stored result, or null if the project has never been analyzed.
+     */
+    public ProjectAnalysisResult load(String projectName) throws IOException {
+        Path dir = SpringAnalyzerService.ANALYSIS_DIR.resolve(projectName);
+
+        ProjectAnalysisResult result = read(activeStore, dir);
+        if (result != null) return result;
+
+        for (AnalysisResultStore store : fallbackStores) {
+            result = read(store, dir);
+            if (result != null) return result;
+        }
+        return null;
+    }
+
+    /**
+     * Loads every stored result (one per directory under analyzed/), e.g. to build an index
+     * over all projects. Unreadable results are logged and skipped.
+     */
+    public void forEachStored(BiConsumer<String, ProjectAnalysisResult> consumer) {
+        if (!Files.isDirectory(SpringAnalyzerService.ANALYSIS_DIR)) return;
+        try (Stream<Path> dirs = Files.list(SpringAnalyzerService.ANALYSIS_DIR)) {
+            dirs.filter(Files::isDirectory).forEach(dir -> {
+                String projectName = dir.getFileName().toString();
+                try {
+                    ProjectAnalysisResult result = load(projectName);
+                    if (result != null) consumer.accept(projectName, result);
+                } catch (IOException e) {
+                    System.err.println("Skipping unreadable analysis result of " + projectName + ": " + e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Could not list " + SpringAnalyzerService.ANALYSIS_DIR + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes a result as pretty-printed JSON, whatever the storage format.
+     */
+    public void exportJson(ProjectAnalysisResult result, OutputStream out) throws IOException {
+        jsonStore.write(result, out);
+    }
+
+    public String getFormat() {
+        return activeStore.format();
+    }
+
+    private ProjectAnalysisResult read(AnalysisResultStore store, Path dir) throws IOException {
+        Path file = dir.resolve(store.fileName());
+        if (!Files.exists(file)) return null;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return store.read(in);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.service.analyzeService.store;
+
+import com.example.demo.model.analyzeModel.ProjectAnalysisResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * One on-disk encoding of a ProjectAnalysisResult. AnalysisResultStorage picks the
+ * active encoding from "app.analysis.result-format"; the others stay readable.
+ */
+public interface AnalysisResultStore {
+
+    /** Name used in "app.analysis.result-format", e.g. "smile" or "json". */
+    String format();
+
+    /** File name inside analyzed/&lt;project&gt;/. */
+    String fileName();
+
+    void write(ProjectAnalysisResult result, OutputStream out) throws IOException;
+
+    ProjectAnalysisResult read(InputStream in) throws IOException;
+}
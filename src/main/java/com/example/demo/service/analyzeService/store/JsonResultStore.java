@@ -0,0 +1,42 @@
+package com.example.demo.service.analyzeService.store;
+
+import com.example.demo.model.analyzeModel.ProjectAnalysisResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Pretty-printed analysis.json, the original format. Also used for JSON exports.
+ */
+@Component
+public class JsonResultStore implements AnalysisResultStore {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Override
+    public String format() {
+        return "json";
+    }
+
+    @Override
+    public String fileName() {
+        return "analysis.json";
+    }
+
+    @Override
+    public void write(ProjectAnalysisResult result, OutputStream out) throws IOException {
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(out, result);
+    }
+
+    @Override
+    public ProjectAnalysisResult read(InputStream in) throws IOException {
+        return objectMapper.readValue(in, ProjectAnalysisResult.class);
+    }
+}
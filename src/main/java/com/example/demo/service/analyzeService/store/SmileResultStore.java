@@ -0,0 +1,76 @@
+package com.example.demo.service.analyzeService.store;
+
+import com.example.demo.model.analyzeModel.ProjectAnalysisResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Binary JSON (Smile) encoding of the same model. Repeated field names and short
+ * string values (HTTP methods, class names, ...) are written once and back-referenced,
+ * which is where most of the savings on large results come from.
+ *
+ * With "app.analysis.result-compress=true" the Smile stream is additionally gzipped.
+ * Reading detects the gzip header, so files written with either setting stay readable.
+ */
+@Component
+public class SmileResultStore implements AnalysisResultStore {
+
+    private final boolean compress;
+
+    private final ObjectMapper objectMapper;
+
+    public SmileResultStore(@Value("${app.analysis.result-compress:false}") boolean compress) {
+        this.compress = compress;
+
+        SmileFactory factory = new SmileFactory();
+        factory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+        this.objectMapper = new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Override
+    public String format() {
+        return "smile";
+    }
+
+    @Override
+    public String fileName() {
+        return "analysis.smile";
+    }
+
+    @Override
+    public void write(ProjectAnalysisResult result, OutputStream out) throws IOException {
+        if (compress) {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                objectMapper.writeValue(gzip, result);
+            }
+        } else {
+            objectMapper.writeValue(out, result);
+        }
+    }
+
+    @Override
+    public ProjectAnalysisResult read(InputStream in) throws IOException {
+        InputStream source = in.markSupported() ? in : new BufferedInputStream(in);
+        source.mark(2);
+        int first = source.read();
+        int second = source.read();
+        source.reset();
+
+        boolean gzipped = first == (GZIPInputStream.GZIP_MAGIC & 0xff) && second == (GZIPInputStream.GZIP_MAGIC >> 8);
+        return objectMapper.readValue(gzipped ? new GZIPInputStream(source) : source, ProjectAnalysisResult.class);
+    }
+}
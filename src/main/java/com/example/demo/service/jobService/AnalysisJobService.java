@@ -0,0 +1,325 @@
+package com.example.demo.service.jobService;
+
+import com.example.demo.model.analyzeModel.ProjectAnalysisResult;
+import com.example.demo.model.jobModel.AnalysisJobStatus;
+import com.example.demo.model.jobModel.AnalysisJobStatus.JobType;
+import com.example.demo.model.jobModel.AnalysisJobStatus.State;
+import com.example.demo.model.projectModel.Project;
+import com.example.demo.service.analyzeService.AnalysisService;
+import com.example.demo.service.analyzeService.ArchitectureGraphService;
+import com.example.demo.service.analyzeService.SpringAnalyzerService;
+import com.example.demo.service.analyzeService.engine.AnalysisProgress;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs analyses in the background so requests return a job id immediately instead of
+ * holding a Tomcat thread. Jobs run on their own executor; clients poll the status or
+ * subscribe to progress events (Server-Sent Events).
+ *
+ * Events are written by a single sender thread, never by the analysis workers: a slow
+ * or stalled client then only delays its own events, not the analyses reporting progress.
+ *
+ * Spring analysis results are saved by SpringAnalyzerService as before, so
+ * GET /api/projects/{name}/analysis serves them once the job succeeds.
+ */
+@Service
+public class AnalysisJobService {
+
+    // Finished jobs kept for polling; older ones are dropped
+    private static final int MAX_FINISHED_JOBS = 200;
+    // Minimum gap between progress events pushed to subscribers
+    private static final long EVENT_INTERVAL_MS = 250;
+
+    @Autowired
+    private SpringAnalyzerService springAnalyzerService;
+
+    @Autowired
+    private AnalysisService analysisService;
+
+    @Autowired
+    private ArchitectureGraphService graphService;
+
+    private final ExecutorService jobExecutor;
+    private final ExecutorService eventSender;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public AnalysisJobService(@Value("${app.jobs.threads:2}") int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        this.jobExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "analysis-job-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.eventSender = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analysis-job-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        eventSender.shutdownNow();
+    }
+
+    // -----------------------------------------------------------------
+    // SUBMIT
+    // -----------------------------------------------------------------
+    public AnalysisJobStatus submitSpringAnalysis(String projectName) {
+        return submit(JobType.SPRING_ANALYSIS, projectName, job -> {
+            ProjectAnalysisResult result = springAnalyzerService.analyzeProject(projectName, job);
+            // Only a clean result counts as success; the analyzer reports failures in the result
+            if ("unsupported".equals(result.getType())) {
+                job.skipped = true;
+                job.error = result.getError();
+            } else if (result.getError() != null) {
+                throw new IllegalStateException(result.getError());
+            }
+            return result;
+        });
+    }
+
+    public AnalysisJobStatus submitProjectAnalysis(Project project) {
+        return submit(JobType.PROJECT_ANALYSIS, project.getName(),
+                job -> analysisService.analyzeProject(project, job));
+    }
+
+    public AnalysisJobStatus submitGraph(String projectName) {
+        return submit(JobType.GRAPH, projectName, job -> graphService.generateGraph(projectName, job));
+    }
+
+    // -----------------------------------------------------------------
+    // QUERY
+    // -----------------------------------------------------------------
+    public Optional<AnalysisJobStatus> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::snapshot);
+    }
+
+    public List<AnalysisJobStatus> getAll() {
+        return jobs.values().stream()
+                .map(Job::snapshot)
+                .sorted(Comparator.comparing(AnalysisJobStatus::getSubmittedAt).reversed())
+                .toList();
+    }
+
+    /**
+     * @return the job's result; empty if the job is unknown or has not succeeded (yet).
+     */
+    public Optional<Object> getResult(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null || job.state != State.SUCCEEDED) return Optional.empty();
+        return Optional.ofNullable(job.result);
+    }
+
+    /**
+     * Streams "progress" events until the job finishes; the last event carries the final state.
+     */
+    public Optional<SseEmitter> subscribe(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) return Optional.empty();
+
+        SseEmitter emitter = new SseEmitter(0L);
+        job.subscribers.add(emitter);
+        emitter.onCompletion(() -> job.subscribers.remove(emitter));
+        emitter.onTimeout(() -> job.subscribers.remove(emitter));
+        emitter.onError(e -> job.subscribers.remove(emitter));
+
+        // Current state right away; completes immediately if the job is already done
+        job.publish(true);
+        return Optional.of(emitter);
+    }
+
+    // -----------------------------------------------------------------
+    // INTERNALS
+    // -----------------------------------------------------------------
+    @FunctionalInterface
+    private interface JobBody {
+        Object run(Job job) throws Exception;
+    }
+
+    private AnalysisJobStatus submit(JobType type, String projectName, JobBody body) {
+        Job job = new Job(UUID.randomUUID().toString(), type, projectName, eventSender);
+        jobs.put(job.id, job);
+        purgeFinishedJobs();
+
+        jobExecutor.submit(() -> {
+            job.start();
+            try {
+                job.result = body.run(job);
+                job.finish(job.skipped ? State.SKIPPED : State.SUCCEEDED, null);
+            } catch (Exception e) {
+                System.err.println("Analysis job " + job.id + " failed for " + projectName + ": " + e.getMessage());
+                job.finish(State.FAILED, e.getMessage());
+            }
+        });
+        return job.snapshot();
+    }
+
+    private void purgeFinishedJobs() {
+        List<Job> finished = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            if (job.finishedAt != null) finished.add(job);
+        }
+        if (finished.size() <= MAX_FINISHED_JOBS) return;
+
+        finished.sort(Comparator.comparing(job -> job.finishedAt));
+        for (int i = 0; i < finished.size() - MAX_FINISHED_JOBS; i++) {
+            jobs.remove(finished.get(i).id);
+        }
+    }
+
+    /**
+     * Mutable job state; doubles as the progress listener handed to the analyzers.
+     */
+    private static class Job implements AnalysisProgress {
+        private final String id;
+        private final JobType type;
+        private final String projectName;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+        private final Executor eventSender;
+
+        private final AtomicInteger filesTotal = new AtomicInteger();
+        private final AtomicInteger filesScanned = new AtomicInteger();
+
+        private volatile State state = State.QUEUED;
+        private volatile String phase;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile long phaseStartNanos;
+        private volatile int phaseStartFiles;
+        private final AtomicLong lastEventMillis = new AtomicLong();
+        private volatile String error;
+        private volatile Object result;
+        private volatile boolean skipped;
+
+        private Job(String id, JobType type, String projectName, Executor eventSender) {
+            this.id = id;
+            this.type = type;
+            this.projectName = projectName;
+            this.eventSender = eventSender;
+        }
+
+        private void start() {
+            startedAt = LocalDateTime.now();
+            state = State.RUNNING;
+            publish(true);
+        }
+
+        // Under the job's lock so a subscriber attaching meanwhile sees either the running
+        // job (and then gets the terminal event below) or the finished one, never a mix
+        private synchronized void finish(State finalState, String failure) {
+            if (failure != null) error = failure;
+            finishedAt = LocalDateTime.now();
+            state = finalState;
+            publish(true);
+        }
+
+        @Override
+        public void phase(String newPhase) {
+            phase = newPhase;
+            phaseStartNanos = System.nanoTime();
+            phaseStartFiles = filesScanned.get();
+            publish(true);
+        }
+
+        @Override
+        public void filesDiscovered(int count) {
+            filesTotal.addAndGet(count);
+            publish(false);
+        }
+
+        @Override
+        public void fileProcessed() {
+            filesScanned.incrementAndGet();
+            publish(false);
+        }
+
+        private AnalysisJobStatus snapshot() {
+            AnalysisJobStatus status = new AnalysisJobStatus();
+            status.setId(id);
+            status.setType(type);
+            status.setProjectName(projectName);
+            status.setState(state);
+            status.setPhase(phase);
+            status.setFilesTotal(filesTotal.get());
+            status.setFilesScanned(filesScanned.get());
+            status.setEtaSeconds(estimateRemainingSeconds());
+            status.setSubmittedAt(submittedAt);
+            status.setStartedAt(startedAt);
+            status.setFinishedAt(finishedAt);
+            status.setError(error);
+            return status;
+        }
+
+        // Linear estimate from the file rate of the current phase
+        private Long estimateRemainingSeconds() {
+            if (state != State.RUNNING) return state == State.QUEUED ? null : 0L;
+            int done = filesScanned.get() - phaseStartFiles;
+            int remaining = filesTotal.get() - filesScanned.get();
+            if (done <= 0 || remaining < 0) return null;
+            long elapsedNanos = System.nanoTime() - phaseStartNanos;
+            return Duration.ofNanos(elapsedNanos / done * remaining).toSeconds();
+        }
+
+        private void publish(boolean force) {
+            if (subscribers.isEmpty()) return;
+            long now = System.currentTimeMillis();
+            if (force) {
+                lastEventMillis.set(now);
+            } else {
+                long last = lastEventMillis.get();
+                // One worker wins the slot, the others skip this event
+                if (now - last < EVENT_INTERVAL_MS || !lastEventMillis.compareAndSet(last, now)) return;
+            }
+
+            // Snapshot and hand-off under the lock keep events in order; the sender thread
+            // does the socket writes. Recipients are fixed here, so a subscriber attaching
+            // later does not also get this older event.
+            synchronized (this) {
+                AnalysisJobStatus status = snapshot();
+                List<SseEmitter> recipients = List.copyOf(subscribers);
+                try {
+                    eventSender.execute(() -> send(recipients, status));
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                }
+            }
+        }
+
+        private void send(List<SseEmitter> recipients, AnalysisJobStatus status) {
+            boolean done = status.getState() != State.QUEUED && status.getState() != State.RUNNING;
+            for (SseEmitter emitter : recipients) {
+                try {
+                    emitter.send(SseEmitter.event().name("progress").data(status));
+                    if (done) emitter.complete();
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(emitter);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.demo.service.jobService;
+
+import com.example.demo.config.AppConfig;
+import com.example.demo.model.analyzeModel.ProjectAnalysisResult;
+import com.example.demo.model.jobModel.AnalysisJobStatus.State;
+import com.example.demo.model.jobModel.BulkAnalysisStatus;
+import com.example.demo.model.jobModel.BulkAnalysisStatus.ProjectOutcome;
+import com.example.demo.model.projectModel.Project;
+import com.example.demo.service.analyzeService.SpringAnalyzerService;
+import com.example.demo.service.projectService.ProjectCatalogService;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Re-analyzes every project under the backend root in one request.
+ *
+ * At most "app.jobs.bulk-concurrency" projects are analyzed at once. File reading and
+ * parsing for all of them still goes through the shared ParallelAnalysisEngine pool and
+ * ParsedSourceCache, so a bulk run uses the same I/O and memory budget as a single
+ * analysis rather than multiplying it per project.
+ *
+ * SSE events are written by one sender thread, not the bulk workers, so a slow client
+ * cannot hold up the run.
+ */
+@Service
+public class BulkAnalysisService {
+
+    // Finished runs kept for polling
+    private static final int MAX_FINISHED_RUNS = 20;
+
+    @Autowired
+    private SpringAnalyzerService springAnalyzerService;
+
+    @Autowired
+    private ProjectCatalogService projectCatalogService;
+
+    @Autowired
+    private AppConfig appConfig;
+
+    private final int concurrency;
+    private final ExecutorService projectExecutor;
+    private final ExecutorService eventSender;
+    private final Map<String, BulkRun> runs = new ConcurrentHashMap<>();
+
+    public BulkAnalysisService(@Value("${app.jobs.bulk-concurrency:2}") int concurrency) {
+        this.concurrency = Math.max(1, concurrency);
+        AtomicInteger counter = new AtomicInteger();
+        this.projectExecutor = Executors.newFixedThreadPool(this.concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-analysis-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.eventSender = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bulk-analysis-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        projectExecutor.shutdownNow();
+        eventSender.shutdownNow();
+    }
+
+    // -----------------------------------------------------------------
+    // SUBMIT / QUERY
+    // -----------------------------------------------------------------
+    public BulkAnalysisStatus submitBackendAnalysis() {
+        List<String> projectNames = backendProjectNames();
+        BulkRun run = new BulkRun(UUID.randomUUID().toString(), projectNames.size(), concurrency, eventSender);
+        runs.put(run.id, run);
+        purgeFinishedRuns();
+
+        System.out.println("Bulk analysis " + run.id + ": " + projectNames.size() + " projects, concurrency " + concurrency);
+        if (projectNames.isEmpty()) {
+            run.finishIfDone();
+        }
+        for (String name : projectNames) {
+            projectExecutor.submit(() -> run.record(analyze(name)));
+        }
+        return run.snapshot();
+    }
+
+    public Optional<BulkAnalysisStatus> getStatus(String runId) {
+        return Optional.ofNullable(runs.get(runId)).map(BulkRun::snapshot);
+    }
+
+    public List<BulkAnalysisStatus> getAll() {
+        return runs.values().stream()
+                .map(BulkRun::snapshot)
+                .sorted(Comparator.comparing(BulkAnalysisStatus::getSubmittedAt).reversed())
+                .toList();
+    }
+
+    /**
+     * Streams one "project" event per finished project (including those that finished
+     * before subscribing), then a final "done" event with the overall status.
+     */
+    public Optional<SseEmitter> subscribe(String runId) {
+        BulkRun run = runs.get(runId);
+        if (run == null) return Optional.empty();
+
+        SseEmitter emitter = new SseEmitter(0L);
+        emitter.onCompletion(() -> run.subscribers.remove(emitter));
+        emitter.onTimeout(() -> run.subscribers.remove(emitter));
+        emitter.onError(e -> run.subscribers.remove(emitter));
+        run.addSubscriber(emitter);
+        return Optional.of(emitter);
+    }
+
+    // -----------------------------------------------------------------
+    // INTERNALS
+    // -----------------------------------------------------------------
+    private List<String> backendProjectNames() {
+        Path backendRoot = appConfig.getBackendPath();
+        List<String> names = new ArrayList<>();
+        for (Project project : projectCatalogService.getProjectsUnderPath(backendRoot.toString())) {
+            if (project.getPath() != null && backendRoot.equals(Paths.get(project.getPath()).getParent())) {
+                names.add(project.getName());
+            }
+        }
+        return names;
+    }
+
+    private ProjectOutcome analyze(String projectName) {
+        ProjectOutcome outcome = new ProjectOutcome();
+        outcome.setProjectName(projectName);
+        long start = System.currentTimeMillis();
+        try {
+            ProjectAnalysisResult result = springAnalyzerService.analyzeProject(projectName);
+            outcome.setSkipped("unsupported".equals(result.getType()));
+            outcome.setSuccess(result.getError() == null);
+            outcome.setSummary(result.getSummary());
+            outcome.setError(result.getError());
+        } catch (Exception e) {
+            System.err.println("Bulk analysis failed for " + projectName + ": " + e.getMessage());
+            outcome.setSuccess(false);
+            outcome.setError(e.getMessage());
+        }
+        outcome.setDurationMs(System.currentTimeMillis() - start);
+        return outcome;
+    }
+
+    private void purgeFinishedRuns() {
+        List<BulkRun> finished = new ArrayList<>();
+        for (BulkRun run : runs.values()) {
+            if (run.finishedAt != null) finished.add(run);
+        }
+        if (finished.size() <= MAX_FINISHED_RUNS) return;
+
+        finished.sort(Comparator.comparing(run -> run.finishedAt));
+        for (int i = 0; i < finished.size() - MAX_FINISHED_RUNS; i++) {
+            runs.remove(finished.get(i).id);
+        }
+    }
+
+    private static class BulkRun {
+        private final String id;
+        private final int total;
+        private final int concurrency;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final List<ProjectOutcome> outcomes = new ArrayList<>();
+        private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+        private final Executor eventSender;
+        private volatile LocalDateTime finishedAt;
+
+        private BulkRun(String id, int total, int concurrency, Executor eventSender) {
+            this.id = id;
+            this.total = total;
+            this.concurrency = concurrency;
+            this.eventSender = eventSender;
+        }
+
+        // Events are queued under the lock, in order, with their recipients fixed at that point;
+        // the single sender thread then delivers them, so every subscriber sees its replay
+        // followed by the later events exactly once
+        private synchronized void record(ProjectOutcome outcome) {
+            outcomes.add(outcome);
+            List<SseEmitter> recipients = List.copyOf(subscribers);
+            enqueue(() -> recipients.forEach(emitter -> send(emitter, "project", outcome)));
+            finishIfDone();
+        }
+
+        private synchronized void finishIfDone() {
+            if (outcomes.size() < total || finishedAt != null) return;
+            finishedAt = LocalDateTime.now();
+            BulkAnalysisStatus status = snapshot();
+            System.out.println("Bulk analysis " + id + " finished: " + status.getProjectsSucceeded()
+                    + " succeeded, " + status.getProjectsSkipped() + " skipped, "
+                    + status.getProjectsFailed() + " failed.");
+            List<SseEmitter> recipients = List.copyOf(subscribers);
+            enqueue(() -> recipients.forEach(emitter -> {
+                if (send(emitter, "done", status)) emitter.complete();
+            }));
+        }
+
+        private synchronized void addSubscriber(SseEmitter emitter) {
+            List<ProjectOutcome> replay = List.copyOf(outcomes);
+            BulkAnalysisStatus done = finishedAt != null ? snapshot() : null;
+            enqueue(() -> {
+                for (ProjectOutcome outcome : replay) {
+                    if (!send(emitter, "project", outcome)) return;
+                }
+                if (done != null && send(emitter, "done", done)) emitter.complete();
+            });
+            if (done == null) subscribers.add(emitter);
+        }
+
+        private void enqueue(Runnable task) {
+            try {
+                eventSender.execute(task);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+            }
+        }
+
+        private boolean send(SseEmitter emitter, String eventName, Object data) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(data));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(emitter);
+                return false;
+            }
+        }
+
+        private synchronized BulkAnalysisStatus snapshot() {
+            BulkAnalysisStatus status = new BulkAnalysisStatus();
+            status.setId(id);
+            status.setConcurrency(concurrency);
+            status.setProjectsTotal(total);
+            status.setSubmittedAt(submittedAt);
+            status.setFinishedAt(finishedAt);
+            status.setProjects(new ArrayList<>(outcomes));
+
+            int succeeded = 0;
+            int skipped = 0;
+            for (ProjectOutcome outcome : outcomes) {
+                if (outcome.isSuccess()) succeeded++;
+                else if (outcome.isSkipped()) skipped++;
+            }
+            int failed = outcomes.size() - succeeded - skipped;
+            status.setProjectsSucceeded(succeeded);
+            status.setProjectsSkipped(skipped);
+            status.setProjectsFailed(failed);
+
+            if (finishedAt != null) {
+                status.setState(failed == 0 ? State.SUCCEEDED : State.FAILED);
+            } else {
+                status.setState(outcomes.isEmpty() ? State.QUEUED : State.RUNNING);
+            }
+            return status;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.example.demo.model.planner.ProjectPlan;
 import com.example.demo.model.planner.ProjectStrategyVersion;
 import com.example.demo.repository.ProjectPlanRepository;
 import com.example.demo.repository.ProjectStrategyVersionRepository;
+import com.example.demo.service.ResourceVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +22,9 @@ public class ProjectPlanService {
     @Autowired
     private ProjectStrategyVersionRepository versionRepository;
 
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
     // ... (findAllProjects, findProjectById, saveProject methods are correct) ...
     public List<ProjectPlan> findAllProjects() {
         return projectRepository.findAllByOrderByCreatedAtDesc();
@@ -31,7 +35,9 @@ public class ProjectPlanService {
     }
 
     public ProjectPlan saveProject(ProjectPlan project) {
-        return projectRepository.save(project);
+        ProjectPlan saved = projectRepository.save(project);
+        resourceVersionService.bumpAfterCommit(ResourceVersionService.PLAN_PROJECTS);
+        return saved;
     }
 
     @Transactional
@@ -75,7 +81,9 @@ public class ProjectPlanService {
         // Always update the plan, as the history logic is based on its change
 
 
-        return projectRepository.save(existingProject);
+        ProjectPlan saved = projectRepository.save(existingProject);
+        resourceVersionService.bumpAfterCommit(ResourceVersionService.PLAN_PROJECTS);
+        return saved;
     }
 
     public List<ProjectStrategyVersion> findProjectStrategyHistory(Long projectId) {
@@ -87,5 +95,6 @@ public class ProjectPlanService {
 
     public void deleteProject(Long id) {
         projectRepository.deleteById(id);
+        resourceVersionService.bumpAfterCommit(ResourceVersionService.PLAN_PROJECTS);
     }
 }
\ No newline at end of file
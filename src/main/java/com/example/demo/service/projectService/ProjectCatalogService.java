@@ -0,0 +1,412 @@
+package com.example.demo.service.projectService;
+
+import com.example.demo.config.AppConfig;
+import com.example.demo.model.projectModel.Project;
+import com.example.demo.model.projectModel.ProjectPage;
+import com.example.demo.repository.ProjectRepository;
+import com.example.demo.service.ResourceVersionService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of every known project (DB rows + folders discovered under the
+ * frontend/backend roots). Built once at startup and kept current by a WatchService
+ * on the two roots, so GET /api/projects never has to touch SQLite or the disk.
+ *
+ * Projects are held in sorted indexes (by name, by path, and by name and by path within
+ * each type) so a filtered page is a range lookup plus "limit" steps, independent of
+ * catalog size. The one exception is pathPrefix combined with namePrefix: that page
+ * filters the path range by name and examines at most MAX_EXAMINED entries, returning
+ * a short page with a cursor to continue if the budget runs out.
+ */
+@Service
+public class ProjectCatalogService {
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private AppConfig appConfig;
+
+    @Autowired
+    private ResourceVersionService resourceVersionService;
+
+    // List of common build/dependency folders that should NEVER be treated as projects
+    private static final List<String> EXCLUDED_BUILD_DEPENDENCY_FOLDERS = List.of(
+            "node_modules", ".git", "target", "build", "dist", "out", "bin", ".idea", ".vscode",
+            "src", "main", "test", "resources", "lib", "vendor", "docs", "temp", "tmp", "logs"
+    );
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Upper bound used to turn a prefix into a [prefix, prefix + MAX] key range
+    private static final char PREFIX_END = Character.MAX_VALUE;
+    // Entries a pathPrefix + namePrefix page may look at before it returns what it has
+    private static final int MAX_EXAMINED = 10_000;
+
+    // name -> project
+    private final ConcurrentSkipListMap<String, Project> projects = new ConcurrentSkipListMap<>();
+    // path -> name
+    private final ConcurrentSkipListMap<String, String> projectsByPath = new ConcurrentSkipListMap<>();
+    // lower-case type -> (name -> project)
+    private final Map<String, ConcurrentSkipListMap<String, Project>> projectsByType = new ConcurrentHashMap<>();
+    // lower-case type -> (path -> name)
+    private final Map<String, ConcurrentSkipListMap<String, String>> projectsByTypeAndPath = new ConcurrentHashMap<>();
+
+    // Root directory -> project type of the folders discovered under it
+    private final Map<Path, String> watchedRoots = new ConcurrentHashMap<>();
+
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    @PostConstruct
+    public void init() {
+        watchedRoots.put(appConfig.getFrontendPath(), "React");
+        watchedRoots.put(appConfig.getBackendPath(), "Spring");
+
+        rebuild();
+        startWatcher();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {}
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+    }
+
+    // -----------------------------------------------------------------
+    // READ
+    // -----------------------------------------------------------------
+    public List<Project> getProjects() {
+        return new ArrayList<>(projects.values());
+    }
+
+    public List<Project> getProjectsUnderPath(String directoryPath) {
+        List<Project> result = new ArrayList<>();
+        for (String name : prefixRange(projectsByPath, directoryPath).values()) {
+            Project project = projects.get(name);
+            if (project != null) result.add(project);
+        }
+        return result;
+    }
+
+    /**
+     * Returns one page of projects matching all given filters (each one optional).
+     * Pages are ordered by path when pathPrefix is set, otherwise by name; the cursor
+     * is the last key of the previous page in that order.
+     */
+    public ProjectPage findPage(String type, String pathPrefix, String namePrefix, String cursor, int limit) {
+        int pageSize = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        String after = decodeCursor(cursor);
+        String typeKey = isBlank(type) ? null : type.toLowerCase(Locale.ROOT);
+
+        List<Project> items = new ArrayList<>(pageSize);
+        String lastKey = null;
+        boolean hasMore = false;
+
+        if (!isBlank(pathPrefix)) {
+            NavigableMap<String, String> source = typeKey == null
+                    ? projectsByPath
+                    : projectsByTypeAndPath.getOrDefault(typeKey, new ConcurrentSkipListMap<>());
+            NavigableMap<String, String> range = prefixRange(source, pathPrefix);
+            if (after != null) range = range.tailMap(after, false);
+
+            int examined = 0;
+            for (Map.Entry<String, String> entry : range.entrySet()) {
+                Project project = projects.get(entry.getValue());
+                if (project == null) continue;
+                boolean matches = isBlank(namePrefix) || project.getName().startsWith(namePrefix);
+
+                if ((matches && items.size() == pageSize) || ++examined > MAX_EXAMINED) {
+                    hasMore = true;
+                    break;
+                }
+                // Skipped entries advance the cursor too, so a budget-limited page resumes after them
+                lastKey = entry.getKey();
+                if (matches) items.add(project);
+            }
+        } else {
+            NavigableMap<String, Project> source = typeKey == null
+                    ? projects
+                    : projectsByType.getOrDefault(typeKey, new ConcurrentSkipListMap<>());
+            NavigableMap<String, Project> range = prefixRange(source, namePrefix);
+            if (after != null) range = range.tailMap(after, false);
+
+            Iterator<Map.Entry<String, Project>> it = range.entrySet().iterator();
+            while (it.hasNext() && items.size() < pageSize) {
+                Map.Entry<String, Project> entry = it.next();
+                items.add(entry.getValue());
+                lastKey = entry.getKey();
+            }
+            hasMore = it.hasNext();
+        }
+
+        return new ProjectPage(items, hasMore ? encodeCursor(lastKey) : null);
+    }
+
+    // -----------------------------------------------------------------
+    // WRITE-THROUGH (called by the code paths that save/delete Project rows)
+    // -----------------------------------------------------------------
+    public void upsert(Project project) {
+        if (project != null && project.getName() != null) {
+            put(project);
+        }
+    }
+
+    /**
+     * Drops the DB-backed entry for a project. If its folder still exists under one of
+     * the watched roots it is re-added as a discovered project, as a full scan would.
+     */
+    public synchronized void evict(String name) {
+        for (Map.Entry<Path, String> root : watchedRoots.entrySet()) {
+            Path dir = root.getKey().resolve(name);
+            if (isProjectFolder(dir)) {
+                put(discovered(dir, root.getValue()));
+                return;
+            }
+        }
+        remove(name);
+    }
+
+    // -----------------------------------------------------------------
+    // FULL REBUILD (startup + watcher overflow)
+    // -----------------------------------------------------------------
+    public synchronized void rebuild() {
+        Map<String, Project> fresh = new HashMap<>();
+
+        // Rows whose directory is missing are left out here; ProjectReconcilerService deletes them
+        for (Project dbProject : projectRepository.findAll()) {
+            if (dbProject.getPath() != null && Files.isDirectory(Paths.get(dbProject.getPath()))) {
+                fresh.put(dbProject.getName(), dbProject);
+            }
+        }
+
+        watchedRoots.forEach((root, type) -> {
+            if (!Files.isDirectory(root)) return;
+            try (Stream<Path> paths = Files.list(root)) {
+                paths.filter(this::isProjectFolder)
+                        .forEach(dir -> fresh.putIfAbsent(dir.getFileName().toString(), discovered(dir, type)));
+            } catch (IOException e) {
+                System.err.println("Error scanning " + type.toLowerCase() + " project directory: " + e.getMessage());
+            }
+        });
+
+        for (String name : new ArrayList<>(projects.keySet())) {
+            if (!fresh.containsKey(name)) unindex(name);
+        }
+        fresh.values().forEach(this::index);
+        resourceVersionService.bump(ResourceVersionService.PROJECTS);
+        System.out.println("Project catalog built: " + projects.size() + " projects.");
+    }
+
+    // -----------------------------------------------------------------
+    // WATCHER
+    // -----------------------------------------------------------------
+    private void startWatcher() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (Path root : watchedRoots.keySet()) {
+                if (Files.isDirectory(root)) {
+                    root.register(watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_DELETE);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Project catalog watcher disabled: " + e.getMessage());
+            return;
+        }
+
+        watcherThread = new Thread(this::watchLoop, "project-catalog-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    private void watchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            Path root = (Path) key.watchable();
+            String type = watchedRoots.get(root);
+
+            // A failing batch must not kill the only watcher thread and leave the catalog stale
+            try {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        rebuild();
+                        continue;
+                    }
+                    Path dir = root.resolve((Path) event.context());
+                    String name = dir.getFileName().toString();
+
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+                        if (type != null && isProjectFolder(dir)) {
+                            putIfAbsent(discovered(dir, type));
+                        }
+                    } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                        Project existing = projects.get(name);
+                        if (existing != null && existing.getPath() != null
+                                && Paths.get(existing.getPath()).equals(dir)) {
+                            remove(name);
+                        }
+                    }
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Project catalog watcher: could not apply changes under " + root + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+
+            if (!key.reset()) {
+                System.err.println("Project catalog watcher lost access to: " + root);
+            }
+        }
+    }
+
+    // -----------------------------------------------------------------
+    // INDEX MAINTENANCE (all writes go through these so the indexes stay in step)
+    // -----------------------------------------------------------------
+    // Each mutation bumps the PROJECTS version once; rebuild() bumps once for the whole pass
+    private synchronized void put(Project project) {
+        index(project);
+        resourceVersionService.bump(ResourceVersionService.PROJECTS);
+    }
+
+    private synchronized void putIfAbsent(Project project) {
+        if (!projects.containsKey(project.getName())) {
+            put(project);
+        }
+    }
+
+    private synchronized void remove(String name) {
+        if (unindex(name)) {
+            resourceVersionService.bump(ResourceVersionService.PROJECTS);
+        }
+    }
+
+    // Adds or replaces the project in place, so lock-free readers never see it missing;
+    // only the path/type keys of the previous entry that no longer apply are dropped
+    private void index(Project project) {
+        String name = project.getName();
+        String path = project.getPath();
+        String typeKey = typeKey(project);
+
+        Project previous = projects.put(name, project);
+        if (path != null) {
+            projectsByPath.put(path, name);
+        }
+        if (typeKey != null) {
+            projectsByType.computeIfAbsent(typeKey, k -> new ConcurrentSkipListMap<>()).put(name, project);
+            if (path != null) {
+                projectsByTypeAndPath.computeIfAbsent(typeKey, k -> new ConcurrentSkipListMap<>()).put(path, name);
+            }
+        }
+        if (previous == null) return;
+
+        String previousType = typeKey(previous);
+        boolean pathChanged = previous.getPath() != null && !previous.getPath().equals(path);
+        boolean typeChanged = previousType != null && !previousType.equals(typeKey);
+        if (pathChanged) {
+            projectsByPath.remove(previous.getPath(), name);
+        }
+        if (typeChanged) {
+            Map<String, Project> byType = projectsByType.get(previousType);
+            if (byType != null) byType.remove(name);
+        }
+        if ((pathChanged || typeChanged) && previousType != null && previous.getPath() != null) {
+            Map<String, String> byTypeAndPath = projectsByTypeAndPath.get(previousType);
+            if (byTypeAndPath != null) byTypeAndPath.remove(previous.getPath(), name);
+        }
+    }
+
+    private boolean unindex(String name) {
+        Project existing = projects.remove(name);
+        if (existing == null) return false;
+        if (existing.getPath() != null) {
+            projectsByPath.remove(existing.getPath(), name);
+        }
+        String typeKey = typeKey(existing);
+        if (typeKey != null) {
+            Map<String, Project> byType = projectsByType.get(typeKey);
+            if (byType != null) byType.remove(name);
+            Map<String, String> byTypeAndPath = projectsByTypeAndPath.get(typeKey);
+            if (byTypeAndPath != null && existing.getPath() != null) byTypeAndPath.remove(existing.getPath(), name);
+        }
+        return true;
+    }
+
+    private static String typeKey(Project project) {
+        return project.getType() == null ? null : project.getType().toLowerCase(Locale.ROOT);
+    }
+
+    // -----------------------------------------------------------------
+    // HELPERS
+    // -----------------------------------------------------------------
+    private static <V> NavigableMap<String, V> prefixRange(NavigableMap<String, V> index, String prefix) {
+        if (isBlank(prefix)) return index;
+        return index.subMap(prefix, true, prefix + PREFIX_END, true);
+    }
+
+    private static String encodeCursor(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decodeCursor(String cursor) {
+        if (isBlank(cursor)) return null;
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    private boolean isProjectFolder(Path path) {
+        if (!Files.isDirectory(path)) return false;
+        String folderName = path.getFileName().toString().toLowerCase();
+        return !EXCLUDED_BUILD_DEPENDENCY_FOLDERS.contains(folderName);
+    }
+
+    private Project discovered(Path dir, String type) {
+        return new Project(dir.getFileName().toString(), type, dir.toString(), "", "", "", null, null);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.demo.service.projectService;
+
+import com.example.demo.model.projectModel.Project;
+import com.example.demo.model.projectModel.ReconciliationReport;
+import com.example.demo.repository.ProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Background job that removes Project rows whose directory no longer exists.
+ * Runs off the request thread and deletes all stale rows in a single statement,
+ * so GET requests never write to SQLite.
+ */
+@Service
+public class ProjectReconcilerService {
+
+    private static final int HISTORY_SIZE = 20;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectCatalogService projectCatalogService;
+
+    // Most recent run first
+    private final Deque<ReconciliationReport> history = new ArrayDeque<>();
+
+    @Scheduled(initialDelayString = "${app.projects.reconcile-initial-delay-ms:10000}",
+            fixedDelayString = "${app.projects.reconcile-interval-ms:300000}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    public synchronized ReconciliationReport reconcile() {
+        ReconciliationReport report = new ReconciliationReport();
+        report.setRunAt(LocalDateTime.now());
+
+        try {
+            List<Project> dbProjects = projectRepository.findAll();
+            report.setChecked(dbProjects.size());
+
+            List<String> stale = new ArrayList<>();
+            for (Project dbProject : dbProjects) {
+                if (dbProject.getPath() == null || !Files.isDirectory(Paths.get(dbProject.getPath()))) {
+                    stale.add(dbProject.getName());
+                }
+            }
+
+            if (!stale.isEmpty()) {
+                projectRepository.deleteAllByIdInBatch(stale);
+                stale.forEach(projectCatalogService::evict);
+                report.setRemoved(stale);
+                System.out.println("Cleaning up DB: removed " + stale.size() + " project(s) with missing directories: " + stale);
+            }
+        } catch (Exception e) {
+            report.setError("Reconciliation failed: " + e.getMessage());
+            System.err.println(report.getError());
+        }
+
+        history.addFirst(report);
+        while (history.size() > HISTORY_SIZE) {
+            history.removeLast();
+        }
+        return report;
+    }
+
+    public synchronized List<ReconciliationReport> getHistory() {
+        return new ArrayList<>(history);
+    }
+}
@@ -0,0 +1,468 @@
+package com.example.demo.service.searchService;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * In-memory inverted index over source files: term -> postings (document ids in
+ * ascending order, with term frequencies), ranked with BM25.
+ *
+ * Terms are the lower-cased identifiers/words of a file plus the parts of compound
+ * identifiers (ProjectCatalogService also yields project, catalog, service), so a query
+ * matches whole identifiers as well as their words. Document ids only grow: a changed
+ * file is removed (tombstoned) and added again under a new id, which keeps every
+ * postings list sorted; tombstones are purged from the postings once they pile up.
+ *
+ * Documents are per project and file: a file below two catalog projects (nested roots)
+ * is indexed once for each, with its path relative to that project's root.
+ *
+ * Readers share a read lock; CodeSearchService's indexer thread is the only writer.
+ */
+public class CodeSearchIndex {
+
+    private static final int MIN_TOKEN = 2;
+    private static final int MAX_TOKEN = 64;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // A prefix query ("repo*") ORs at most this many terms
+    private static final int MAX_PREFIX_EXPANSION = 512;
+    private static final int COMPACT_THRESHOLD = 10_000;
+
+    /**
+     * An indexed file. length = number of tokens, for BM25 length normalization.
+     */
+    public record Document(String projectName, String path, Path file, long size, long lastModified,
+                           int length, int lines) {
+    }
+
+    /**
+     * Terms of one file, computed outside the index lock.
+     */
+    public record Analyzed(String[] terms, int[] freqs, int length, int lines) {
+    }
+
+    public record Hit(Document document, double score) {
+    }
+
+    public record Hits(int total, List<Hit> hits) {
+    }
+
+    private static final class Postings {
+        int[] docs = new int[2];
+        int[] freqs = new int[2];
+        int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        void removeDeleted(BitSet deleted) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (deleted.get(docs[i])) continue;
+                docs[kept] = docs[i];
+                freqs[kept] = freqs[i];
+                kept++;
+            }
+            size = kept;
+        }
+
+        // First index >= from whose doc is >= target (galloping, then binary search)
+        int advance(int from, int target) {
+            int step = 1;
+            int low = from;
+            int high = from;
+            while (high < size && docs[high] < target) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (docs[mid] < target) low = mid + 1;
+                else high = mid;
+            }
+            return low;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Sorted, so prefix queries are a sub-map
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    // doc id -> document; null once removed
+    private final List<Document> documents = new ArrayList<>();
+    // project -> file -> doc id
+    private final Map<String, Map<Path, Integer>> byProject = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private int liveDocuments;
+    private long totalLength;
+    private long totalLines;
+    private long totalBytes;
+    private int deletedSinceCompaction;
+
+    // -----------------------------------------------------------------
+    // TOKENIZING
+    // -----------------------------------------------------------------
+    public static Analyzed analyze(CharSequence content) {
+        Map<String, int[]> counts = new HashMap<>();
+        int length = 0;
+        int lines = content.length() == 0 ? 0 : 1;
+
+        int i = 0;
+        int n = content.length();
+        while (i < n) {
+            char c = content.charAt(i);
+            if (!isWordChar(c)) {
+                if (c == '\n') lines++;
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < n && isWordChar(content.charAt(i))) i++;
+            if (i - start < MIN_TOKEN || i - start > MAX_TOKEN) continue;
+
+            String token = content.subSequence(start, i).toString();
+            String lower = token.toLowerCase(Locale.ROOT);
+            counts.computeIfAbsent(lower, k -> new int[1])[0]++;
+            length++;
+            forEachPart(token, part -> {
+                if (!part.equals(lower)) counts.computeIfAbsent(part, k -> new int[1])[0]++;
+            });
+        }
+
+        String[] termArray = new String[counts.size()];
+        int[] freqArray = new int[counts.size()];
+        int t = 0;
+        for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+            termArray[t] = entry.getKey();
+            freqArray[t] = entry.getValue()[0];
+            t++;
+        }
+        return new Analyzed(termArray, freqArray, length, lines);
+    }
+
+    /**
+     * Query terms as the index stores them: lower-cased whole tokens (no parts, so
+     * "getBackendPath" must match that identifier, while "backend" matches its part).
+     */
+    public static List<String> queryTokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            if (!isWordChar(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < text.length() && isWordChar(text.charAt(i))) i++;
+            if (i - start <= MAX_TOKEN) tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    // Lower-cased words of a compound identifier: camelCase, HTTPServer, snake_case, letters/digits
+    private static void forEachPart(String token, Consumer<String> consumer) {
+        int start = 0;
+        int n = token.length();
+        for (int i = 1; i <= n; i++) {
+            boolean boundary;
+            if (i == n) {
+                boundary = true;
+            } else {
+                char prev = token.charAt(i - 1);
+                char c = token.charAt(i);
+                boundary = c == '_' || prev == '_'
+                        || (Character.isLowerCase(prev) && Character.isUpperCase(c))
+                        || (Character.isDigit(prev) != Character.isDigit(c))
+                        || (Character.isUpperCase(prev) && Character.isUpperCase(c)
+                            && i + 1 < n && Character.isLowerCase(token.charAt(i + 1)));
+            }
+            if (!boundary) continue;
+            if (start == 0 && i == n) return; // not a compound
+            String part = token.substring(start, i);
+            if (part.length() >= MIN_TOKEN && part.charAt(0) != '_') consumer.accept(part.toLowerCase(Locale.ROOT));
+            start = i;
+        }
+    }
+
+    // -----------------------------------------------------------------
+    // WRITE (indexer thread)
+    // -----------------------------------------------------------------
+    public void put(String projectName, String path, Path file, long size, long lastModified, Analyzed analyzed) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(projectName, file);
+            int id = documents.size();
+            documents.add(new Document(projectName, path, file, size, lastModified, analyzed.length(), analyzed.lines()));
+            byProject.computeIfAbsent(projectName, k -> new HashMap<>()).put(file, id);
+            for (int i = 0; i < analyzed.terms().length; i++) {
+                terms.computeIfAbsent(analyzed.terms()[i], k -> new Postings()).add(id, analyzed.freqs()[i]);
+            }
+            liveDocuments++;
+            totalLength += analyzed.length();
+            totalLines += analyzed.lines();
+            totalBytes += size;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String projectName, Path file) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(projectName, file);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the project's files under dir (a deleted directory), or all of them if dir is null.
+     */
+    public void removeAll(String projectName, Path dir) {
+        lock.writeLock().lock();
+        try {
+            Map<Path, Integer> files = byProject.get(projectName);
+            if (files == null) return;
+            for (Path file : new ArrayList<>(files.keySet())) {
+                if (dir == null || file.startsWith(dir)) removeLocked(projectName, file);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(String projectName, Path file) {
+        Map<Path, Integer> files = byProject.get(projectName);
+        Integer id = files == null ? null : files.remove(file);
+        if (id == null) return;
+        if (files.isEmpty()) byProject.remove(projectName);
+        Document document = documents.set(id, null);
+        deleted.set(id);
+        liveDocuments--;
+        totalLength -= document.length();
+        totalLines -= document.lines();
+        totalBytes -= document.size();
+
+        // Purge tombstones once they are a sizeable share of the postings
+        if (++deletedSinceCompaction >= COMPACT_THRESHOLD && deletedSinceCompaction > liveDocuments / 4) {
+            Iterator<Postings> iterator = terms.values().iterator();
+            while (iterator.hasNext()) {
+                Postings postings = iterator.next();
+                postings.removeDeleted(deleted);
+                if (postings.size == 0) iterator.remove();
+            }
+            deletedSinceCompaction = 0;
+        }
+    }
+
+    // -----------------------------------------------------------------
+    // READ
+    // -----------------------------------------------------------------
+    public Document get(String projectName, Path file) {
+        lock.readLock().lock();
+        try {
+            Integer id = byProject.getOrDefault(projectName, Map.of()).get(file);
+            return id == null ? null : documents.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Files of one project, as indexed (for reconciling against the disk).
+     */
+    public List<Document> documentsOf(String projectName) {
+        lock.readLock().lock();
+        try {
+            List<Document> result = new ArrayList<>();
+            for (Integer id : byProject.getOrDefault(projectName, Map.of()).values()) {
+                result.add(documents.get(id));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Files containing every query term ("term*" = any term with that prefix), best first.
+     * The filter is applied before ranking; total counts all matching files that pass it.
+     */
+    public Hits search(List<String> queryTerms, Predicate<Document> filter, int limit) {
+        lock.readLock().lock();
+        try {
+            if (queryTerms.isEmpty() || liveDocuments == 0) return new Hits(0, List.of());
+
+            List<Postings> lists = new ArrayList<>();
+            List<String> plainTerms = new ArrayList<>();
+            for (String term : queryTerms) {
+                Postings postings;
+                if (term.endsWith("*")) {
+                    String prefix = term.substring(0, term.length() - 1);
+                    postings = union(terms.subMap(prefix, prefix + Character.MAX_VALUE));
+                    plainTerms.add(prefix);
+                } else {
+                    postings = terms.get(term);
+                    plainTerms.add(term);
+                }
+                if (postings == null || postings.size == 0) return new Hits(0, List.of());
+                lists.add(postings);
+            }
+            // Drive the intersection from the rarest term
+            Integer[] order = new Integer[lists.size()];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, Comparator.comparingInt(i -> lists.get(i).size));
+
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < idf.length; i++) {
+                int df = Math.min(lists.get(i).size, liveDocuments);
+                idf[i] = Math.log(1 + (liveDocuments - df + 0.5) / (df + 0.5));
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / liveDocuments);
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(Comparator.comparingDouble(Hit::score));
+            int total = 0;
+            int[] cursors = new int[lists.size()];
+            Postings driver = lists.get(order[0]);
+
+            candidates:
+            for (int d = 0; d < driver.size; d++) {
+                int doc = driver.docs[d];
+                if (deleted.get(doc)) continue;
+                for (int k = 1; k < order.length; k++) {
+                    Postings other = lists.get(order[k]);
+                    int cursor = other.advance(cursors[k], doc);
+                    cursors[k] = cursor;
+                    if (cursor == other.size) break candidates;
+                    if (other.docs[cursor] != doc) continue candidates;
+                }
+                Document document = documents.get(doc);
+                if (filter != null && !filter.test(document)) continue;
+                total++;
+
+                double score = 0;
+                for (int k = 0; k < order.length; k++) {
+                    int termIndex = order[k];
+                    int freq = k == 0 ? driver.freqs[d] : lists.get(termIndex).freqs[cursors[k]];
+                    double norm = K1 * (1 - B + B * document.length() / averageLength);
+                    score += idf[termIndex] * freq * (K1 + 1) / (freq + norm);
+                }
+                // Terms in the file name (e.g. the class name) count extra
+                String fileName = document.file().getFileName().toString().toLowerCase(Locale.ROOT);
+                for (String term : plainTerms) {
+                    if (fileName.contains(term)) score *= 1.5;
+                }
+
+                if (top.size() < limit) {
+                    top.add(new Hit(document, score));
+                } else if (limit > 0 && score > top.peek().score()) {
+                    top.poll();
+                    top.add(new Hit(document, score));
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed());
+            return new Hits(total, hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Postings of several terms merged into one (frequencies summed)
+    private static Postings union(SortedMap<String, Postings> matching) {
+        if (matching.isEmpty()) return null;
+        if (matching.size() == 1) return matching.values().iterator().next();
+
+        int count = 0;
+        int size = 0;
+        for (Postings postings : matching.values()) {
+            if (++count > MAX_PREFIX_EXPANSION) break;
+            size += postings.size;
+        }
+        long[] packed = new long[size];
+        int p = 0;
+        count = 0;
+        for (Postings postings : matching.values()) {
+            if (++count > MAX_PREFIX_EXPANSION) break;
+            for (int i = 0; i < postings.size; i++) {
+                packed[p++] = ((long) postings.docs[i] << 32) | postings.freqs[i];
+            }
+        }
+        Arrays.sort(packed);
+
+        Postings merged = new Postings();
+        for (long entry : packed) {
+            int doc = (int) (entry >>> 32);
+            int freq = (int) entry;
+            if (merged.size > 0 && merged.docs[merged.size - 1] == doc) merged.freqs[merged.size - 1] += freq;
+            else merged.add(doc, freq);
+        }
+        return merged;
+    }
+
+    // -----------------------------------------------------------------
+    // STATS
+    // -----------------------------------------------------------------
+    public int getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return liveDocuments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getLineCount() {
+        lock.readLock().lock();
+        try {
+            return totalLines;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getByteCount() {
+        lock.readLock().lock();
+        try {
+            return totalBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
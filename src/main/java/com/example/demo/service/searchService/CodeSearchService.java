@@ -0,0 +1,476 @@
+package com.example.demo.service.searchService;
+
+import com.example.demo.model.projectModel.Project;
+import com.example.demo.model.searchModel.SearchIndexStats;
+import com.example.demo.model.searchModel.SearchResult;
+import com.example.demo.service.analyzeService.engine.ParallelAnalysisEngine;
+import com.example.demo.service.analyzeService.scanner.ProjectFileWalker;
+import com.example.demo.service.projectService.ProjectCatalogService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Full-text search over the sources of every catalog project (frontend and backend).
+ *
+ * One "code-search-indexer" thread owns all writes: it builds the CodeSearchIndex at
+ * startup, then follows a WatchService registered on every non-ignored directory of
+ * every project (same ignore rules as the analyzers: app.analysis.ignored-dirs plus
+ * .gitignore). Changed paths are collected until the events go quiet for a moment and
+ * then re-indexed in one batch; an event overflow or a changed .gitignore re-syncs the
+ * project against the disk by size/mtime. Projects added to or removed from the
+ * catalog are picked up every app.search.sync-interval-ms.
+ *
+ * Queries never touch the disk except to read snippets for the returned page.
+ */
+@Service
+public class CodeSearchService {
+
+    // Events for the same files within this window are indexed together
+    private static final long DEBOUNCE_MS = 300;
+    private static final int SNIPPETS_PER_HIT = 3;
+    private static final int MAX_SNIPPET_LENGTH = 200;
+    public static final int MAX_LIMIT = 200;
+
+    @Autowired
+    private ProjectCatalogService projectCatalogService;
+
+    @Autowired
+    private ProjectFileWalker fileWalker;
+
+    @Autowired
+    private ParallelAnalysisEngine analysisEngine;
+
+    private final Set<String> extensions;
+    private final long maxFileBytes;
+    private final long syncIntervalMs;
+
+    private final CodeSearchIndex index = new CodeSearchIndex();
+    // Indexed projects: name -> root
+    private final Map<String, Path> projectRoots = new ConcurrentHashMap<>();
+    // Registered directory -> project names; the WatchService hands out one key per directory,
+    // so a folder inside several catalog projects (nested roots) is shared by all of them
+    private final Map<WatchKey, Set<String>> watchedDirectories = new ConcurrentHashMap<>();
+    private final Map<Path, WatchKey> watchedPaths = new ConcurrentHashMap<>();
+
+    private WatchService watchService;
+    private Thread indexerThread;
+    private volatile String state = "BUILDING";
+    private volatile LocalDateTime lastUpdate;
+
+    public CodeSearchService(@Value("${app.search.extensions:java,ts,tsx,properties,xml}") String[] extensions,
+                             @Value("${app.search.max-file-kb:1024}") long maxFileKb,
+                             @Value("${app.search.sync-interval-ms:60000}") long syncIntervalMs) {
+        this.extensions = new HashSet<>();
+        for (String extension : extensions) this.extensions.add("." + extension.trim().toLowerCase(Locale.ROOT));
+        this.maxFileBytes = maxFileKb * 1024;
+        this.syncIntervalMs = syncIntervalMs;
+    }
+
+    @PostConstruct
+    public void init() {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (IOException e) {
+            System.err.println("Code search watcher disabled: " + e.getMessage());
+        }
+        indexerThread = new Thread(this::indexLoop, "code-search-indexer");
+        indexerThread.setDaemon(true);
+        indexerThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {}
+        }
+        if (indexerThread != null) {
+            indexerThread.interrupt();
+        }
+    }
+
+    // -----------------------------------------------------------------
+    // QUERY
+    // -----------------------------------------------------------------
+
+    /**
+     * @param query       whitespace-separated terms, all required; "term*" matches any term with that prefix
+     * @param projects    project names to search in; empty = all
+     * @param pathPattern glob over the project-relative path if it contains * or ?, else a case-insensitive substring; null = any
+     */
+    public SearchResult search(String query, Set<String> projects, String pathPattern, int limit) {
+        long start = System.nanoTime();
+        SearchResult result = new SearchResult();
+        result.setQuery(query);
+
+        List<String> terms = parseQuery(query);
+        Predicate<CodeSearchIndex.Document> filter = documentFilter(projects, pathPattern);
+        CodeSearchIndex.Hits hits = index.search(terms, filter, Math.max(0, Math.min(limit, MAX_LIMIT)));
+
+        result.setTotalHits(hits.total());
+        for (CodeSearchIndex.Hit hit : hits.hits()) {
+            CodeSearchIndex.Document document = hit.document();
+            SearchResult.Hit item = new SearchResult.Hit();
+            item.setProjectName(document.projectName());
+            item.setPath(document.path());
+            item.setScore(Math.round(hit.score() * 1000) / 1000.0);
+            item.setSnippets(snippets(document.file(), terms));
+            result.getHits().add(item);
+        }
+        result.setTookMs((System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    public SearchIndexStats getStats() {
+        SearchIndexStats stats = new SearchIndexStats();
+        stats.setState(state);
+        stats.setProjects(projectRoots.size());
+        stats.setDocuments(index.getDocumentCount());
+        stats.setTerms(index.getTermCount());
+        stats.setLines(index.getLineCount());
+        stats.setBytes(index.getByteCount());
+        stats.setWatchedDirectories(watchedDirectories.size());
+        stats.setLastUpdate(lastUpdate);
+        return stats;
+    }
+
+    // Whole lower-cased tokens; a trailing * on a word makes its last token a prefix
+    private static List<String> parseQuery(String query) {
+        List<String> terms = new ArrayList<>();
+        if (query == null) return terms;
+        for (String word : query.trim().split("\\s+")) {
+            List<String> tokens = CodeSearchIndex.queryTokens(word);
+            // Single characters are not indexed
+            tokens.removeIf(token -> token.length() < 2);
+            if (tokens.isEmpty()) continue;
+            if (word.endsWith("*")) tokens.set(tokens.size() - 1, tokens.get(tokens.size() - 1) + "*");
+            terms.addAll(tokens);
+        }
+        return terms;
+    }
+
+    private static Predicate<CodeSearchIndex.Document> documentFilter(Set<String> projects, String pathPattern) {
+        Predicate<CodeSearchIndex.Document> filter = document -> true;
+        if (projects != null && !projects.isEmpty()) {
+            filter = document -> projects.contains(document.projectName());
+        }
+        if (pathPattern != null && !pathPattern.isBlank()) {
+            Predicate<CodeSearchIndex.Document> pathFilter;
+            if (pathPattern.contains("*") || pathPattern.contains("?")) {
+                PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pathPattern);
+                pathFilter = document -> matcher.matches(Paths.get(document.path()));
+            } else {
+                String needle = pathPattern.toLowerCase(Locale.ROOT);
+                pathFilter = document -> document.path().toLowerCase(Locale.ROOT).contains(needle);
+            }
+            filter = filter.and(pathFilter);
+        }
+        return filter;
+    }
+
+    // Lines with the most distinct query terms, in file order
+    private static List<SearchResult.Snippet> snippets(Path file, List<String> terms) {
+        List<String> needles = new ArrayList<>();
+        for (String term : terms) needles.add(term.endsWith("*") ? term.substring(0, term.length() - 1) : term);
+
+        List<SearchResult.Snippet> best = new ArrayList<>();
+        List<Integer> bestScores = new ArrayList<>();
+        try (BufferedReader reader = reader(file)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String lower = line.toLowerCase(Locale.ROOT);
+                int score = 0;
+                for (String needle : needles) {
+                    if (lower.contains(needle)) score++;
+                }
+                if (score == 0) continue;
+
+                // Keep the SNIPPETS_PER_HIT best lines; earlier lines win ties
+                int worst = -1;
+                if (best.size() == SNIPPETS_PER_HIT) {
+                    worst = 0;
+                    for (int i = 1; i < bestScores.size(); i++) {
+                        if (bestScores.get(i) < bestScores.get(worst)) worst = i;
+                    }
+                    if (bestScores.get(worst) >= score) continue;
+                    best.remove(worst);
+                    bestScores.remove(worst);
+                }
+                String text = line.strip();
+                if (text.length() > MAX_SNIPPET_LENGTH) text = text.substring(0, MAX_SNIPPET_LENGTH) + "…";
+                best.add(new SearchResult.Snippet(lineNumber, text));
+                bestScores.add(score);
+            }
+        } catch (IOException e) {
+            // Deleted since it was indexed; the watcher will drop it
+            return List.of();
+        }
+        best.sort(Comparator.comparingInt(SearchResult.Snippet::getLine));
+        return best;
+    }
+
+    private static BufferedReader reader(Path file) throws IOException {
+        // Sources are not always valid UTF-8: replace bad bytes instead of failing
+        return new BufferedReader(new InputStreamReader(Files.newInputStream(file),
+                StandardCharsets.UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE)));
+    }
+
+    // -----------------------------------------------------------------
+    // INDEXER THREAD
+    // -----------------------------------------------------------------
+    private void indexLoop() {
+        try {
+            long start = System.currentTimeMillis();
+            syncProjects();
+            System.out.println("Code search index built: " + index.getDocumentCount() + " files, "
+                    + index.getLineCount() + " lines in " + (System.currentTimeMillis() - start) + " ms.");
+            state = watchService == null ? "WATCH_DISABLED" : "READY";
+            long lastSync = System.currentTimeMillis();
+
+            // project -> changed paths; projects needing a full re-sync
+            Map<String, Set<Path>> pending = new LinkedHashMap<>();
+            Set<String> resync = new LinkedHashSet<>();
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = null;
+                if (watchService != null) {
+                    key = watchService.poll(pending.isEmpty() && resync.isEmpty() ? 1000 : DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+                } else {
+                    Thread.sleep(syncIntervalMs);
+                }
+
+                if (key != null) {
+                    collect(key, pending, resync);
+                } else if (!pending.isEmpty() || !resync.isEmpty()) {
+                    // Quiet for DEBOUNCE_MS: apply the batch
+                    for (String projectName : resync) {
+                        Path root = projectRoots.get(projectName);
+                        if (root != null) syncProject(projectName, root);
+                        pending.remove(projectName);
+                    }
+                    pending.forEach(this::applyChanges);
+                    pending.clear();
+                    resync.clear();
+                    lastUpdate = LocalDateTime.now();
+                }
+
+                if (System.currentTimeMillis() - lastSync >= syncIntervalMs) {
+                    syncProjects();
+                    lastSync = System.currentTimeMillis();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        } catch (RuntimeException e) {
+            state = "FAILED";
+            System.err.println("Code search indexer stopped: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    private void collect(WatchKey key, Map<String, Set<Path>> pending, Set<String> resync) {
+        Set<String> projectNames = watchedDirectories.getOrDefault(key, Set.of());
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            for (String projectName : projectNames) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    resync.add(projectName);
+                    continue;
+                }
+                Path path = dir.resolve((Path) event.context());
+                if (path.getFileName().toString().equals(".gitignore")) {
+                    resync.add(projectName);
+                } else {
+                    pending.computeIfAbsent(projectName, k -> new LinkedHashSet<>()).add(path);
+                }
+            }
+        }
+        if (!key.reset()) {
+            // Directory deleted or no longer accessible
+            watchedDirectories.remove(key);
+            watchedPaths.remove(dir);
+        }
+    }
+
+    private void applyChanges(String projectName, Set<Path> paths) {
+        Path root = projectRoots.get(projectName);
+        if (root == null) return;
+
+        List<Path> files = new ArrayList<>();
+        for (Path path : paths) {
+            if (Files.isDirectory(path)) {
+                // New (or moved in) directory: watch and index everything below it
+                if (isWatched(projectName, path) || fileWalker.isIgnored(root, path, true)) continue;
+                try {
+                    files.addAll(fileWalker.listFiles(root, path, this::isSearchable, dir -> watch(projectName, dir)));
+                } catch (IOException e) {
+                    System.err.println("Code search: could not scan " + path + ": " + e.getMessage());
+                }
+            } else if (Files.isRegularFile(path)) {
+                if (isSearchable(path) && !fileWalker.isIgnored(root, path, false)) files.add(path);
+                else index.remove(projectName, path);
+            } else {
+                // Deleted file or directory
+                index.remove(projectName, path);
+                index.removeAll(projectName, path);
+            }
+        }
+        indexFiles(projectName, root, files);
+    }
+
+    // -----------------------------------------------------------------
+    // PROJECT SYNC
+    // -----------------------------------------------------------------
+    private void syncProjects() {
+        Map<String, Path> current = new HashMap<>();
+        for (Project project : projectCatalogService.getProjects()) {
+            if (project.getPath() == null) continue;
+            Path root = Paths.get(project.getPath()).toAbsolutePath().normalize();
+            if (Files.isDirectory(root)) current.put(project.getName(), root);
+        }
+
+        for (String projectName : new ArrayList<>(projectRoots.keySet())) {
+            if (!projectRoots.get(projectName).equals(current.get(projectName))) {
+                projectRoots.remove(projectName);
+                unwatch(projectName);
+                index.removeAll(projectName, null);
+            }
+        }
+        current.forEach((projectName, root) -> {
+            if (projectRoots.putIfAbsent(projectName, root) == null) syncProject(projectName, root);
+        });
+        lastUpdate = LocalDateTime.now();
+    }
+
+    /**
+     * Brings one project in line with the disk: (re)registers its directories and
+     * re-indexes only files whose size or mtime differ from the index.
+     */
+    private void syncProject(String projectName, Path root) {
+        unwatch(projectName);
+        List<Path> files;
+        try {
+            files = fileWalker.listFiles(root, root, this::isSearchable, dir -> watch(projectName, dir));
+        } catch (IOException e) {
+            System.err.println("Code search: could not scan " + root + ": " + e.getMessage());
+            return;
+        }
+
+        Set<Path> onDisk = new HashSet<>(files);
+        for (CodeSearchIndex.Document document : index.documentsOf(projectName)) {
+            if (!onDisk.contains(document.file())) index.remove(projectName, document.file());
+        }
+        indexFiles(projectName, root, files);
+    }
+
+    // Reads and tokenizes on the worker pool; unchanged files (same size and mtime) are skipped
+    private void indexFiles(String projectName, Path root, List<Path> files) {
+        // analyzed == null: too large, drop it from the index
+        record Prepared(Path file, long size, long lastModified, CodeSearchIndex.Analyzed analyzed) {}
+
+        List<Prepared> prepared = analysisEngine.map(files, file -> {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            CodeSearchIndex.Document existing = index.get(projectName, file);
+            if (existing != null && existing.size() == attributes.size() && existing.lastModified() == lastModified) {
+                return null;
+            }
+            if (attributes.size() > maxFileBytes) {
+                // Generated or minified: not worth indexing
+                return new Prepared(file, attributes.size(), lastModified, null);
+            }
+            StringBuilder content = new StringBuilder((int) attributes.size());
+            try (BufferedReader reader = reader(file)) {
+                char[] buffer = new char[8192];
+                int read;
+                while ((read = reader.read(buffer)) > 0) content.append(buffer, 0, read);
+            }
+            return new Prepared(file, attributes.size(), lastModified, CodeSearchIndex.analyze(content));
+        });
+
+        for (Prepared file : prepared) {
+            if (file.analyzed() == null) {
+                index.remove(projectName, file.file());
+                continue;
+            }
+            String relative = root.relativize(file.file()).toString().replace('\\', '/');
+            index.put(projectName, relative, file.file(), file.size(), file.lastModified(), file.analyzed());
+        }
+    }
+
+    private boolean isSearchable(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && extensions.contains(name.substring(dot));
+    }
+
+    // -----------------------------------------------------------------
+    // WATCH REGISTRATION
+    // -----------------------------------------------------------------
+    private void watch(String projectName, Path dir) {
+        if (watchService == null) return;
+        try {
+            WatchKey key = dir.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            watchedDirectories.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(projectName);
+            watchedPaths.put(dir, key);
+        } catch (IOException e) {
+            System.err.println("Code search: cannot watch " + dir + ": " + e.getMessage());
+        }
+    }
+
+    // Cancels a directory's key only once no other project watches it
+    private void unwatch(String projectName) {
+        watchedDirectories.entrySet().removeIf(entry -> {
+            if (!entry.getValue().remove(projectName) || !entry.getValue().isEmpty()) return false;
+            entry.getKey().cancel();
+            watchedPaths.remove((Path) entry.getKey().watchable());
+            return true;
+        });
+    }
+
+    private boolean isWatched(String projectName, Path dir) {
+        WatchKey key = watchedPaths.get(dir);
+        return key != null && watchedDirectories.getOrDefault(key, Set.of()).contains(projectName);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.service.analyzeService.graph;
+
+import com.example.demo.model.graphModel.ArchitectureGraph;
+import com.example.demo.model.graphModel.GraphMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GraphAnalytics (Tarjan, layer violations, fan-in/fan-out) on synthetic graphs of
+ * about 100k edges: random graphs of several densities, and a single ring, which makes
+ * one strongly connected component as deep as the graph.
+ *
+ * Run main() after mvn test-compile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphAnalyticsBenchmark {
+
+    private static final List<String> TYPES = List.of("CONTROLLER", "SERVICE", "REPOSITORY", "ENTITY", "UNKNOWN");
+    private static final List<String> RELATIONS = List.of("USES", "EXTENDS", "IMPLEMENTS");
+
+    // "random:<nodes>:<edges>" or "ring:<nodes>"
+    @Param({"random:20000:100000", "random:50000:100000", "random:40000:200000", "ring:100000"})
+    private String shape;
+
+    private CompactGraph graph;
+    private GraphIndex index;
+
+    @Setup
+    public void build() {
+        String[] parts = shape.split(":");
+        int nodes = Integer.parseInt(parts[1]);
+        Random random = new Random(42);
+
+        CompactGraph.Builder builder = new CompactGraph.Builder();
+        for (int n = 0; n < nodes; n++) {
+            String id = "C" + n;
+            builder.addNode(new ArchitectureGraph.Node(id, id, TYPES.get(random.nextInt(TYPES.size()))));
+        }
+        if (parts[0].equals("ring")) {
+            for (int n = 0; n < nodes; n++) {
+                builder.addEdge(new ArchitectureGraph.Edge("C" + n, "C" + ((n + 1) % nodes), "USES"));
+            }
+        } else {
+            int edges = Integer.parseInt(parts[2]);
+            for (int e = 0; e < edges; e++) {
+                builder.addEdge(new ArchitectureGraph.Edge("C" + random.nextInt(nodes), "C" + random.nextInt(nodes),
+                        RELATIONS.get(random.nextInt(RELATIONS.size()))));
+            }
+        }
+        graph = builder.build(1);
+        index = new GraphIndex(graph);
+    }
+
+    // What ProjectGraphState pays on a new graph version: the index, then the metrics
+    @Benchmark
+    public GraphMetrics indexAndAnalyze() {
+        return GraphAnalytics.analyze(new GraphIndex(graph));
+    }
+
+    @Benchmark
+    public GraphMetrics analyze() {
+        return GraphAnalytics.analyze(index);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GraphAnalyticsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.demo.service.analyzeService.scanner;
+
+import com.example.demo.model.analyzeModel.ApiEndpoint;
+import com.example.demo.model.analyzeModel.EntityInfo;
+import com.example.demo.model.analyzeModel.FileAnalysis;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * One full pass of the Spring source visitors over a source tree: the SourceTokenizer
+ * path against the per-line regex scan it replaced (reproduced below as legacyScan).
+ *
+ * Run main() from the project root, after mvn test-compile. sourceDir defaults to this
+ * repository's own sources; add -prof gc to the options to see allocation per pass.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SourceTokenizerBenchmark {
+
+    @Param("src/main/java")
+    private String sourceDir;
+
+    private final List<SourceVisitor> visitors =
+            List.of(new ControllerVisitor(), new EntityVisitor(), new SpringMarkerVisitor());
+    private List<String> sources;
+
+    @Setup
+    public void load() throws IOException {
+        sources = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(Paths.get(sourceDir))) {
+            for (Path file : files.filter(p -> p.toString().endsWith(".java")).sorted().toList()) {
+                sources.add(Files.readString(file));
+            }
+        }
+        if (sources.isEmpty()) throw new IllegalStateException("No .java files under " + sourceDir);
+    }
+
+    @Benchmark
+    public int tokenizer() {
+        int found = 0;
+        for (String source : sources) {
+            FileAnalysis analysis = new FileAnalysis();
+            SourceTokenizer.Listener[] listeners = new SourceTokenizer.Listener[visitors.size()];
+            for (int i = 0; i < listeners.length; i++) listeners[i] = visitors.get(i).open(source, analysis);
+            SourceTokenizer.tokenize(source, listeners);
+            found += analysis.getApiEndpoints().size() + analysis.getEntities().size();
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int regex() {
+        int found = 0;
+        for (String source : sources) {
+            FileAnalysis analysis = new FileAnalysis();
+            legacyScan(List.of(source.split("\\R")), analysis);
+            found += analysis.getApiEndpoints().size() + analysis.getEntities().size();
+        }
+        return found;
+    }
+
+    // -----------------------------------------------------------------
+    // BASELINE: the line/regex visitors before SourceTokenizer
+    // -----------------------------------------------------------------
+    private static final List<String> SPRING_MARKERS =
+            List.of("@SpringBootApplication", "@RestController", "SpringApplication.run");
+
+    private static void legacyScan(List<String> lines, FileAnalysis analysis) {
+        // ControllerVisitor
+        String controllerClass = null;
+        boolean isRestController = false;
+        String basePath = "";
+        for (String line : lines) {
+            line = line.trim();
+            if (line.contains("@RestController")) isRestController = true;
+            if (line.startsWith("@RequestMapping(")) basePath = extractMappingValue(line);
+            if (line.startsWith("public class ")) {
+                String[] parts = line.split("\\s+");
+                controllerClass = parts.length >= 3 ? parts[2] : "UnknownController";
+            }
+            if (isRestController && line.matches("@(Get|Post|Put|Delete)Mapping\\(.*\\)")) {
+                ApiEndpoint ep = new ApiEndpoint();
+                ep.setHttpMethod(line.substring(1, line.indexOf("Mapping")).toUpperCase());
+                ep.setPath((basePath + "/" + extractMappingValue(line)).replaceAll("//+", "/"));
+                ep.setController(controllerClass);
+                analysis.getApiEndpoints().add(ep);
+            }
+        }
+
+        // EntityVisitor
+        if (lines.stream().anyMatch(l -> l.contains("@Entity"))) {
+            EntityInfo entity = new EntityInfo();
+            for (String line : lines) {
+                line = line.trim();
+                if (line.startsWith("public class ")) {
+                    String[] parts = line.split("\\s+");
+                    entity.setName(parts.length >= 3 ? parts[2] : "UnknownEntity");
+                }
+                if (line.contains("@Table(")) entity.setTableName(extractMappingValue(line));
+            }
+            analysis.getEntities().add(entity);
+        }
+
+        // SpringMarkerVisitor
+        for (String line : lines) {
+            if (SPRING_MARKERS.stream().anyMatch(line::contains)) {
+                analysis.setSpringMarker(true);
+                break;
+            }
+        }
+    }
+
+    private static String extractMappingValue(String line) {
+        Matcher matcher = Pattern.compile("\\(\"(.*?)\"\\)").matcher(line);
+        return matcher.find() ? matcher.group(1) : "";
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SourceTokenizerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.service.analyzeService.store;
+
+import com.example.demo.model.analyzeModel.ApiEndpoint;
+import com.example.demo.model.analyzeModel.DependencyInfo;
+import com.example.demo.model.analyzeModel.EntityInfo;
+import com.example.demo.model.analyzeModel.ProjectAnalysisResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoded size and write/read time of one large analysis result in each storage format:
+ * the pretty-printed JSON store, Smile, and Smile with app.analysis.result-compress.
+ *
+ * Run main() after mvn test-compile; each fork prints the encoded size of its format
+ * ("size: ...") in the log of its first iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultStoreBenchmark {
+
+    private static final List<String> METHODS = List.of("GET", "POST", "PUT", "DELETE");
+
+    @Param({"json", "smile", "smile+gzip"})
+    private String format;
+
+    @Param({"5000"})
+    private int endpoints;
+
+    private AnalysisResultStore store;
+    private ProjectAnalysisResult result;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        store = switch (format) {
+            case "json" -> new JsonResultStore();
+            case "smile" -> new SmileResultStore(false);
+            case "smile+gzip" -> new SmileResultStore(true);
+            default -> throw new IllegalArgumentException(format);
+        };
+        result = syntheticResult(endpoints);
+        encoded = write();
+        System.out.println("size: " + format + " " + encoded.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encoded == null ? 1 << 16 : encoded.length);
+        store.write(result, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public ProjectAnalysisResult read() throws IOException {
+        return store.read(new ByteArrayInputStream(encoded));
+    }
+
+    // Shaped like a large service: many endpoints over fewer controllers, entities, config keys
+    static ProjectAnalysisResult syntheticResult(int endpoints) {
+        ProjectAnalysisResult result = new ProjectAnalysisResult();
+        result.setProjectName("synthetic-svc");
+        result.setType("spring");
+        result.setAnalyzedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        result.setProjectUrl("http://localhost:8080");
+
+        for (int i = 0; i < endpoints; i++) {
+            ApiEndpoint endpoint = new ApiEndpoint();
+            endpoint.setHttpMethod(METHODS.get(i % METHODS.size()));
+            endpoint.setPath("/api/resource" + (i / 8) + "/{id}/items" + (i % 8));
+            endpoint.setController("Resource" + (i / 8) + "Controller");
+            result.getApiEndpoints().add(endpoint);
+        }
+        for (int i = 0; i < endpoints / 10; i++) {
+            EntityInfo entity = new EntityInfo();
+            entity.setName("Entity" + i);
+            entity.setTableName("entity_" + i);
+            result.getEntities().add(entity);
+        }
+        for (int i = 0; i < 80; i++) {
+            DependencyInfo dependency = new DependencyInfo();
+            dependency.setGroupId("org.example.group" + (i % 10));
+            dependency.setArtifactId("artifact-" + i);
+            dependency.setVersion("1." + (i % 5) + ".0");
+            dependency.setScope(i % 4 == 0 ? "test" : "compile");
+            result.getDependencies().add(dependency);
+        }
+        for (int i = 0; i < endpoints * 2 / 5; i++) {
+            result.getConfiguration().put("app.module" + (i / 20) + ".setting" + (i % 20), "value-" + (i % 50));
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ResultStoreBenchmark.class.getSimpleName()).build()).run();
+    }
+}